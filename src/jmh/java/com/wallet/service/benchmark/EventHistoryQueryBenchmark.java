@@ -0,0 +1,144 @@
+package com.wallet.service.benchmark;
+
+import com.wallet.service.infrastructure.partitioning.EventPartitionMaintainer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.util.StreamUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of time-bounded event queries as history grows, with and without monthly
+ * partitioning. Loads {@code years} of events for a fixed set of wallets into a
+ * PostgreSQL container, either as a plain table with the service's indexes or from
+ * {@code db/postgres/events-partitioned.sql}. Partitioned history lands in the default
+ * partition and is then split by {@link EventPartitionMaintainer}, so this is the layout
+ * the service produces. Measures a point-in-time wallet read (getEventsUntil) and a
+ * one-month reporting scan. Run with {@code ./gradlew jmh}; requires Docker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventHistoryQueryBenchmark {
+    private static final int WALLETS = 200;
+    private static final int EVENTS_PER_WALLET_PER_MONTH = 20;
+    private static final YearMonth LAST_MONTH = YearMonth.of(2026, 9);
+
+    private static final String INSERT_SQL = """
+            insert into events (id, aggregate_id, aggregate_type, amount_minor, balance_after_minor, created_at,
+                event_data, event_type, occurred_at, position, transaction_id, user_id, version)
+            values (?, ?, 'Wallet', ?, ?, ?, '{}', 'MONEY_DEPOSITED', ?, ?, null, null, ?)
+            """;
+    private static final String EVENTS_UNTIL_SQL = """
+            select aggregate_id, event_type, version, user_id, amount_minor, balance_after_minor,
+                   transaction_id, occurred_at
+            from events
+            where aggregate_id = ? and occurred_at <= ?
+            order by version
+            """;
+    private static final String MONTH_SCAN_SQL = """
+            select count(*), coalesce(sum(amount_minor), 0)
+            from events
+            where occurred_at >= ? and occurred_at < ?
+            """;
+
+    @Param({"1", "5"})
+    private int years;
+
+    @Param({"false", "true"})
+    private boolean partitioned;
+
+    private PostgreSQLContainer<?> postgres;
+    private JdbcTemplate jdbcTemplate;
+    private UUID[] walletIds;
+    private Instant start;
+    private long historySeconds;
+
+    @Setup
+    public void setUp() throws IOException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        walletIds = new UUID[WALLETS];
+        for (int i = 0; i < WALLETS; i++) {
+            walletIds[i] = UUID.randomUUID();
+        }
+        YearMonth firstMonth = LAST_MONTH.minusYears(years).plusMonths(1);
+        start = firstMonth.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        historySeconds = ChronoUnit.SECONDS.between(start,
+                LAST_MONTH.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+
+        if (partitioned) {
+            // One simple query, so the driver keeps the trigger function body in one piece
+            jdbcTemplate.execute(StreamUtils.copyToString(new ClassPathResource("db/postgres/events-partitioned.sql")
+                    .getInputStream(), StandardCharsets.UTF_8));
+        } else {
+            new ResourceDatabasePopulator(new ClassPathResource("db/read-replica-schema.sql")).execute(dataSource);
+        }
+
+        // One month at a time, in occurrence order, as the log would have been written
+        long position = 0;
+        int[] versions = new int[WALLETS];
+        for (YearMonth month = firstMonth; !month.isAfter(LAST_MONTH); month = month.plusMonths(1)) {
+            OffsetDateTime monthStart = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+            long stepSeconds = month.lengthOfMonth() * 86_400L / EVENTS_PER_WALLET_PER_MONTH;
+            List<Object[]> rows = new ArrayList<>(WALLETS * EVENTS_PER_WALLET_PER_MONTH);
+            for (int e = 0; e < EVENTS_PER_WALLET_PER_MONTH; e++) {
+                for (int w = 0; w < WALLETS; w++) {
+                    OffsetDateTime occurredAt = monthStart.plusSeconds(e * stepSeconds + w);
+                    int version = ++versions[w];
+                    rows.add(new Object[]{UUID.randomUUID(), walletIds[w], 100L, 100L * version, occurredAt,
+                            occurredAt, ++position, version});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+        if (partitioned) {
+            new EventPartitionMaintainer(dataSource, 3);
+        }
+        jdbcTemplate.execute("vacuum analyze");
+    }
+
+    @TearDown
+    public void tearDown() {
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int walletEventsUntil() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID walletId = walletIds[random.nextInt(WALLETS)];
+        Instant cutoff = start.plusSeconds(random.nextLong(historySeconds));
+        return jdbcTemplate.query(EVENTS_UNTIL_SQL, (rs, rowNum) -> rs.getInt(3),
+                walletId, cutoff.atOffset(ZoneOffset.UTC)).size();
+    }
+
+    @Benchmark
+    public long monthScan() {
+        YearMonth month = LAST_MONTH.minusMonths(ThreadLocalRandom.current().nextInt(12 * years));
+        OffsetDateTime from = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        return jdbcTemplate.queryForObject(MONTH_SCAN_SQL, (rs, rowNum) -> rs.getLong(2),
+                from, from.plusMonths(1));
+    }
+}
@@ -0,0 +1,93 @@
+package com.wallet.service.benchmark;
+
+import com.wallet.service.domain.aggregate.Wallet;
+import com.wallet.service.domain.valueobject.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a wallet history while re-checking balance arithmetic, once with the
+ * former BigDecimal representation and once with {@link Money}. Run with
+ * {@code ./gradlew jmh}; the gc profiler reports gc.alloc.rate.norm per replay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyReplayBenchmark {
+
+    @Param({"100", "10000"})
+    private int events;
+
+    private BigDecimal[] decimalAmounts;
+    private BigDecimal[] decimalBalances;
+    private Money[] moneyAmounts;
+    private Money[] moneyBalances;
+    private UUID walletId;
+
+    @Setup
+    public void setUp() {
+        decimalAmounts = new BigDecimal[events];
+        decimalBalances = new BigDecimal[events];
+        moneyAmounts = new Money[events];
+        moneyBalances = new Money[events];
+        walletId = UUID.randomUUID();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long balance = 0;
+        for (int i = 0; i < events; i++) {
+            long amount = 1 + random.nextLong(100_000);
+            balance += amount;
+            decimalAmounts[i] = BigDecimal.valueOf(amount, Money.SCALE);
+            decimalBalances[i] = BigDecimal.valueOf(balance, Money.SCALE);
+            moneyAmounts[i] = Money.ofMinor(amount);
+            moneyBalances[i] = Money.ofMinor(balance);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalReplay() {
+        BigDecimal balance = BigDecimal.ZERO;
+        for (int i = 0; i < events; i++) {
+            if (decimalAmounts[i].compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalStateException("Non-positive amount at " + i);
+            }
+            balance = balance.add(decimalAmounts[i]);
+            if (balance.compareTo(decimalBalances[i]) != 0) {
+                throw new IllegalStateException("Balance mismatch at " + i);
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money moneyReplay() {
+        Money balance = Money.ZERO;
+        for (int i = 0; i < events; i++) {
+            if (!moneyAmounts[i].isPositive()) {
+                throw new IllegalStateException("Non-positive amount at " + i);
+            }
+            balance = balance.plus(moneyAmounts[i]);
+            if (balance.compareTo(moneyBalances[i]) != 0) {
+                throw new IllegalStateException("Balance mismatch at " + i);
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Wallet walletRestore() {
+        Wallet wallet = new Wallet();
+        wallet.restoreCreated(walletId, walletId, Money.ZERO, 1);
+        for (int i = 0; i < events; i++) {
+            wallet.restoreBalance(moneyBalances[i], i + 2);
+        }
+        return wallet;
+    }
+}
@@ -1,11 +1,30 @@
 package com.wallet.service;
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Arrays;
 
 @SpringBootApplication
+@EnableScheduling
 public class WalletServiceApplication {
     public static void main(String[] args) {
-        SpringApplication.run(WalletServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(WalletServiceApplication.class);
+        // One-shot CLI jobs run without a web server and stop once their runner is done
+        boolean cliJob = Arrays.stream(args)
+                .anyMatch(arg -> arg.startsWith("--export.output=") || arg.startsWith("--import.input="));
+        if (cliJob) {
+            application.setWebApplicationType(WebApplicationType.NONE);
+            // Background jobs would only hold up the exit
+            args = Arrays.copyOf(args, args.length + 1);
+            args[args.length - 1] = "--wallet.audit.enabled=false";
+        }
+        ConfigurableApplicationContext context = application.run(args);
+        if (cliJob) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,220 @@
+package com.wallet.service.application.audit;
+
+import com.wallet.service.domain.valueobject.Money;
+import com.wallet.service.infrastructure.admission.AdaptiveConcurrencyLimiter;
+import com.wallet.service.infrastructure.eventstore.EventLogHorizon;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background check that wallet_projections still matches the event log. Each run
+ * picks up the wallets with events after the watermark position, compares their
+ * projection with the latest event in parallel partitions, and advances the
+ * watermark. Runs are skipped while the command path is busy.
+ *
+ * <p>A run never reads past the {@link EventLogHorizon}, so events of a transaction
+ * that commits after a later position are still picked up. Wallets are paged by the
+ * position of their newest event, which is unique, so a page boundary cannot cut
+ * between wallets that a later run would then miss.
+ */
+@Service
+@Slf4j
+public class ReconciliationAuditor {
+    private static final int MAX_REPORTED_MISMATCHES = 1_000;
+
+    private static final String CHANGED_WALLETS_SQL = """
+            select aggregate_id, max(position) as last_position
+            from events
+            where position > ? and position <= ?
+            group by aggregate_id
+            order by last_position
+            limit ?
+            """;
+
+    // One statement per partition, so projection and events are read from the same snapshot
+    private static final String COMPARE_SQL = """
+            select e.aggregate_id, e.version, e.balance_after_minor, p.version, p.balance_minor
+            from events e
+            join (select aggregate_id, max(version) as version from events
+                  where aggregate_id in (%s) group by aggregate_id) latest
+              on latest.aggregate_id = e.aggregate_id and latest.version = e.version
+            left join wallet_projections p on p.id = e.aggregate_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AdaptiveConcurrencyLimiter commandLimiter;
+    private final ExecutorService executor;
+    private final boolean enabled;
+    private final int parallelism;
+    private final int batchSize;
+    private final EventLogHorizon horizon;
+
+    private final Map<UUID, ReconciliationMismatch> mismatches = new ConcurrentHashMap<>();
+    private final AtomicLong walletsChecked = new AtomicLong();
+    private final Counter checkedCounter;
+    private final Counter mismatchCounter;
+    private final Counter skippedRunCounter;
+    private volatile long watermark;
+    private volatile Instant oldestPending;
+    private volatile Instant lastRunAt;
+
+    public ReconciliationAuditor(
+            DataSource dataSource,
+            @Qualifier("commandLimiter") AdaptiveConcurrencyLimiter commandLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.audit.enabled:true}") boolean enabled,
+            @Value("${wallet.audit.parallelism:2}") int parallelism,
+            @Value("${wallet.audit.batch-size:500}") int batchSize,
+            @Value("${wallet.events.gap-timeout:10m}") Duration gapTimeout) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.commandLimiter = commandLimiter;
+        this.enabled = enabled;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.horizon = new EventLogHorizon(jdbcTemplate, gapTimeout);
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "reconciliation-auditor");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        this.checkedCounter = Counter.builder("wallet.audit.wallets.checked")
+                .description("Wallets compared against their event stream")
+                .register(meterRegistry);
+        this.mismatchCounter = Counter.builder("wallet.audit.mismatches.detected")
+                .description("Projection mismatches detected")
+                .register(meterRegistry);
+        this.skippedRunCounter = Counter.builder("wallet.audit.runs.skipped")
+                .description("Audit runs skipped because the command path was busy")
+                .register(meterRegistry);
+        Gauge.builder("wallet.audit.mismatches.open", mismatches, Map::size)
+                .description("Wallets currently out of sync with their events")
+                .register(meterRegistry);
+        Gauge.builder("wallet.audit.watermark.lag.seconds", this, ReconciliationAuditor::lagSeconds)
+                .description("Age of the oldest event the auditor has not examined yet, 0 when caught up")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.audit.interval:10s}", initialDelayString = "${wallet.audit.interval:10s}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        // Yield to money movement: only audit while commands use less than half their limit
+        if (commandLimiter.getInFlight() * 2 > commandLimiter.getLimit()) {
+            skippedRunCounter.increment();
+            return;
+        }
+
+        long settled = horizon.settledPosition(watermark);
+        List<UUID> changed = new ArrayList<>();
+        long[] newWatermark = {watermark};
+        jdbcTemplate.query(CHANGED_WALLETS_SQL, rs -> {
+            changed.add(rs.getObject(1, UUID.class));
+            newWatermark[0] = rs.getLong(2);
+        }, watermark, settled, batchSize);
+
+        if (!changed.isEmpty()) {
+            List<List<UUID>> partitions = partition(changed);
+            CompletableFuture.allOf(partitions.stream()
+                    .map(partition -> CompletableFuture.runAsync(() -> check(partition), executor))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+            watermark = newWatermark[0];
+        }
+        OffsetDateTime pending = jdbcTemplate.queryForObject(
+                "select min(created_at) from events where position > ?", OffsetDateTime.class, watermark);
+        oldestPending = pending == null ? null : pending.toInstant();
+        lastRunAt = Instant.now();
+    }
+
+    public ReconciliationStatus getStatus() {
+        List<ReconciliationMismatch> current = new ArrayList<>(mismatches.values());
+        Collections.sort(current, (a, b) -> a.detectedAt().compareTo(b.detectedAt()));
+        return new ReconciliationStatus(watermark, lastRunAt, walletsChecked.get(), current);
+    }
+
+    // Unknown until the first run rather than the age of the whole log
+    private double lagSeconds() {
+        if (lastRunAt == null) {
+            return Double.NaN;
+        }
+        Instant pending = oldestPending;
+        return pending == null ? 0 : Math.max(0, Duration.between(pending, Instant.now()).toSeconds());
+    }
+
+    private void check(List<UUID> walletIds) {
+        String placeholders = String.join(",", Collections.nCopies(walletIds.size(), "?"));
+        jdbcTemplate.query(COMPARE_SQL.formatted(placeholders), rs -> {
+            UUID walletId = rs.getObject(1, UUID.class);
+            int eventVersion = rs.getInt(2);
+            long eventBalance = rs.getLong(3);
+            Integer projectionVersion = rs.getObject(4, Integer.class);
+            Long projectionBalance = rs.getObject(5, Long.class);
+
+            if (projectionVersion == null || projectionVersion != eventVersion || projectionBalance != eventBalance) {
+                record(new ReconciliationMismatch(walletId,
+                        projectionBalance == null ? null : Money.ofMinor(projectionBalance).toBigDecimal(),
+                        projectionVersion,
+                        Money.ofMinor(eventBalance).toBigDecimal(),
+                        eventVersion,
+                        Instant.now()));
+            } else {
+                mismatches.remove(walletId);
+            }
+            walletsChecked.incrementAndGet();
+            checkedCounter.increment();
+        }, walletIds.toArray());
+    }
+
+    private void record(ReconciliationMismatch mismatch) {
+        if (mismatches.size() < MAX_REPORTED_MISMATCHES || mismatches.containsKey(mismatch.walletId())) {
+            mismatches.put(mismatch.walletId(), mismatch);
+        }
+        mismatchCounter.increment();
+        log.warn("Projection mismatch for wallet {}: projection {} (v{}), events {} (v{})",
+                mismatch.walletId(), mismatch.projectionBalance(), mismatch.projectionVersion(),
+                mismatch.eventBalance(), mismatch.eventVersion());
+    }
+
+    private List<List<UUID>> partition(List<UUID> walletIds) {
+        List<List<UUID>> partitions = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (UUID walletId : walletIds) {
+            partitions.get(Math.floorMod(walletId.hashCode(), parallelism)).add(walletId);
+        }
+        partitions.removeIf(List::isEmpty);
+        return partitions;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
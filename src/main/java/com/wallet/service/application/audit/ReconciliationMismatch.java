@@ -0,0 +1,18 @@
+package com.wallet.service.application.audit;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A wallet whose projection disagrees with its event stream. A null projection
+ * balance means the projection row is missing.
+ */
+public record ReconciliationMismatch(
+        UUID walletId,
+        BigDecimal projectionBalance,
+        Integer projectionVersion,
+        BigDecimal eventBalance,
+        int eventVersion,
+        Instant detectedAt) {
+}
@@ -0,0 +1,14 @@
+package com.wallet.service.application.audit;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * {@code watermark} is the event position the auditor has examined up to.
+ */
+public record ReconciliationStatus(
+        long watermark,
+        Instant lastRunAt,
+        long walletsChecked,
+        List<ReconciliationMismatch> mismatches) {
+}
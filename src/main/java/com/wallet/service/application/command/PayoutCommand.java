@@ -0,0 +1,25 @@
+package com.wallet.service.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayoutCommand {
+    private UUID sourceWalletId;
+    private List<Payment> payments;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payment {
+        private UUID toWalletId;
+        private BigDecimal amount;
+    }
+}
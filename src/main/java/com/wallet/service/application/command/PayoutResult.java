@@ -0,0 +1,43 @@
+package com.wallet.service.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a payout. The transaction id is shared by the source debit and every
+ * credit, so the whole payout can be looked up as one transaction.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayoutResult {
+    private String transactionId;
+    private UUID sourceWalletId;
+    private BigDecimal totalPaid;
+    private BigDecimal sourceBalanceAfter;
+    private int credited;
+    private int rejected;
+    private List<Recipient> recipients;
+
+    public enum Status {
+        CREDITED, REJECTED
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Recipient {
+        private UUID toWalletId;
+        private BigDecimal amount;
+        private Status status;
+        private String reason;
+    }
+}
@@ -0,0 +1,27 @@
+package com.wallet.service.application.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Which events to export. All filters are optional; {@code afterPosition} resumes an
+ * export after the last position already received, {@code from} is inclusive and
+ * {@code to} exclusive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventExportQuery {
+    private long afterPosition;
+    private UUID aggregateId;
+    private String eventType;
+    private Instant from;
+    private Instant to;
+    private Long limit;
+}
@@ -0,0 +1,171 @@
+package com.wallet.service.application.export;
+
+import com.wallet.service.infrastructure.eventstore.EventLogHorizon;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams the event log in global position order. Rows go from the JDBC cursor
+ * straight to the output stream, and the stored JSON payload is copied as is, so
+ * memory stays flat however many events are exported.
+ *
+ * <p>NDJSON lines look like
+ * {@code {"position":1,"aggregateId":"...","aggregateType":"Wallet","eventType":"...","version":1,"occurredAt":"...","data":{...}}}.
+ *
+ * <p>The binary format starts with the magic bytes {@code WEV1}, followed by one record
+ * per event: position (long), aggregate id (two longs), aggregate type and event type
+ * (modified UTF-8, as written by {@link DataOutputStream#writeUTF}), version (int),
+ * occurredAt epoch seconds (long) and nanos (int), then the payload length (int)
+ * and its UTF-8 bytes. All numbers are big-endian.
+ *
+ * <p>An export stops at the {@link EventLogHorizon}: events after a position whose
+ * transaction may still commit are left for a later export, so resuming from the last
+ * position written never skips an event.
+ *
+ * <p>The export reads in a read-only transaction, so it uses the read pool, and with
+ * autocommit off the driver honours the fetch size instead of buffering every row.
+ */
+@Service
+@Slf4j
+public class EventLogExporter {
+    public static final byte[] BINARY_MAGIC = {'W', 'E', 'V', '1'};
+    private static final int FETCH_SIZE = 1_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        NDJSON, BINARY
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventLogHorizon horizon;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public EventLogExporter(DataSource dataSource,
+                            @Value("${wallet.events.gap-timeout:10m}") Duration gapTimeout) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.horizon = new EventLogHorizon(jdbcTemplate, gapTimeout);
+        this.readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes the matching events and returns the position of the last one written,
+     * or {@code afterPosition} when nothing matched.
+     */
+    public long write(EventExportQuery query, Format format, OutputStream outputStream) throws IOException {
+        try {
+            return readOnlyTransaction.execute(status -> {
+                try {
+                    return export(query, format, outputStream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; stop reading instead of draining the cursor
+            throw e.getCause();
+        }
+    }
+
+    private long export(EventExportQuery query, Format format, OutputStream outputStream) throws IOException {
+        StringBuilder sql = new StringBuilder("""
+                select position, aggregate_id, aggregate_type, event_type, version, occurred_at, event_data
+                from events
+                where position > ? and position <= ?
+                """);
+        List<Object> args = new ArrayList<>();
+        args.add(query.getAfterPosition());
+        args.add(horizon.settledPosition(query.getAfterPosition()));
+        if (query.getAggregateId() != null) {
+            sql.append(" and aggregate_id = ?");
+            args.add(query.getAggregateId());
+        }
+        if (query.getEventType() != null) {
+            sql.append(" and event_type = ?");
+            args.add(query.getEventType());
+        }
+        if (query.getFrom() != null) {
+            sql.append(" and occurred_at >= ?");
+            args.add(query.getFrom().atOffset(ZoneOffset.UTC));
+        }
+        if (query.getTo() != null) {
+            sql.append(" and occurred_at < ?");
+            args.add(query.getTo().atOffset(ZoneOffset.UTC));
+        }
+        sql.append(" order by position");
+        if (query.getLimit() != null) {
+            sql.append(" limit ?");
+            args.add(query.getLimit());
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        if (format == Format.BINARY) {
+            out.write(BINARY_MAGIC);
+        }
+        long[] last = {query.getAfterPosition(), 0};
+        jdbcTemplate.query(sql.toString(), rs -> {
+            try {
+                last[0] = format == Format.BINARY ? writeBinary(rs, out) : writeNdjson(rs, out);
+                last[1]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, args.toArray());
+        out.flush();
+        log.info("Exported {} events as {} up to position {}", last[1], format, last[0]);
+        return last[0];
+    }
+
+    private static long writeNdjson(ResultSet rs, DataOutputStream out) throws SQLException, IOException {
+        long position = rs.getLong(1);
+        String line = "{\"position\":" + position
+                + ",\"aggregateId\":\"" + rs.getObject(2, UUID.class)
+                + "\",\"aggregateType\":\"" + rs.getString(3)
+                + "\",\"eventType\":\"" + rs.getString(4)
+                + "\",\"version\":" + rs.getInt(5)
+                + ",\"occurredAt\":\"" + rs.getObject(6, OffsetDateTime.class).toInstant()
+                + "\",\"data\":" + rs.getString(7) + "}\n";
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        return position;
+    }
+
+    private static long writeBinary(ResultSet rs, DataOutputStream out) throws SQLException, IOException {
+        long position = rs.getLong(1);
+        UUID aggregateId = rs.getObject(2, UUID.class);
+        Instant occurredAt = rs.getObject(6, OffsetDateTime.class).toInstant();
+        byte[] payload = rs.getString(7).getBytes(StandardCharsets.UTF_8);
+        out.writeLong(position);
+        out.writeLong(aggregateId.getMostSignificantBits());
+        out.writeLong(aggregateId.getLeastSignificantBits());
+        out.writeUTF(rs.getString(3));
+        out.writeUTF(rs.getString(4));
+        out.writeInt(rs.getInt(5));
+        out.writeLong(occurredAt.getEpochSecond());
+        out.writeInt(occurredAt.getNano());
+        out.writeInt(payload.length);
+        out.write(payload);
+        return position;
+    }
+}
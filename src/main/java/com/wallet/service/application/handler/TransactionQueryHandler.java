@@ -0,0 +1,43 @@
+package com.wallet.service.application.handler;
+
+import com.wallet.service.application.query.TransactionDto;
+import com.wallet.service.domain.exception.NotFoundException;
+import com.wallet.service.infrastructure.eventstore.EventStore;
+import com.wallet.service.infrastructure.persistence.EventRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionQueryHandler {
+    private final EventStore eventStore;
+
+    @Transactional(readOnly = true)
+    public TransactionDto getTransaction(String transactionId) {
+        List<EventRecord> records = eventStore.getEventRecordsByTransactionId(transactionId);
+        if (records.isEmpty()) {
+            throw new NotFoundException("Transaction not found: " + transactionId);
+        }
+
+        return TransactionDto.builder()
+                .transactionId(transactionId)
+                .legs(records.stream().map(this::toLeg).toList())
+                .build();
+    }
+
+    private TransactionDto.Leg toLeg(EventRecord record) {
+        return TransactionDto.Leg.builder()
+                .walletId(record.aggregateId())
+                .eventType(record.eventType())
+                .amount(record.amount().toBigDecimal())
+                .balanceAfter(record.balanceAfter().toBigDecimal())
+                .version(record.version())
+                .occurredAt(record.occurredAt())
+                .build();
+    }
+}
@@ -2,24 +2,40 @@ package com.wallet.service.application.handler;
 
 import com.wallet.service.application.command.*;
 import com.wallet.service.domain.aggregate.Wallet;
+import com.wallet.service.domain.exception.ConcurrencyConflictException;
+import com.wallet.service.domain.valueobject.Money;
 import com.wallet.service.infrastructure.repository.WalletRepository;
+import com.wallet.service.infrastructure.telemetry.HotWalletTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WalletCommandHandler {
+    public static final int MAX_PAYOUT_RECIPIENTS = 10_000;
+    static final int PAYOUT_BATCH_SIZE = 500;
+    private static final int MAX_CREDIT_ATTEMPTS = 3;
+
     private final WalletRepository walletRepository;
+    private final HotWalletTracker hotWalletTracker;
 
     @Transactional
     public UUID handle(CreateWalletCommand command) {
-        // Check if wallet already exists for user
-        if (walletRepository.findByUserId(command.getUserId()).isPresent()) {
+        // Check if wallet already exists for user; the unique userId index catches races
+        if (walletRepository.existsByUserId(command.getUserId())) {
             throw new IllegalStateException("Wallet already exists for user: " + command.getUserId());
         }
 
@@ -32,33 +48,51 @@ public class WalletCommandHandler {
 
     @Transactional
     public void handle(DepositCommand command) {
-        Wallet wallet = walletRepository.findById(command.getWalletId())
-                .orElseThrow(() -> new IllegalArgumentException("Wallet not found: " + command.getWalletId()));
-
+        Money amount = Money.of(command.getAmount());
         String transactionId = UUID.randomUUID().toString();
-        wallet.deposit(command.getAmount(), transactionId);
-        walletRepository.save(wallet);
-        
+        applyToCurrent(command.getWalletId(), wallet -> wallet.deposit(amount, transactionId));
+
         log.info("Deposited {} to wallet {}", command.getAmount(), command.getWalletId());
     }
 
     @Transactional
     public void handle(WithdrawCommand command) {
-        Wallet wallet = walletRepository.findById(command.getWalletId())
-                .orElseThrow(() -> new IllegalArgumentException("Wallet not found: " + command.getWalletId()));
-
+        Money amount = Money.of(command.getAmount());
         String transactionId = UUID.randomUUID().toString();
-        wallet.withdraw(command.getAmount(), transactionId);
-        walletRepository.save(wallet);
-        
+        applyToCurrent(command.getWalletId(), wallet -> wallet.withdraw(amount, transactionId));
+
         log.info("Withdrew {} from wallet {}", command.getAmount(), command.getWalletId());
     }
 
+    /**
+     * Deposits and withdrawals only need the current balance and version, so the wallet
+     * is loaded from its projection row instead of replaying its history. If another
+     * command advanced the wallet in between, the change is applied once more to the
+     * wallet rehydrated from its events, and a second conflict fails the command.
+     */
+    private void applyToCurrent(UUID walletId, Consumer<Wallet> change) {
+        hotWalletTracker.recordRequest(walletId);
+        Wallet wallet = walletRepository.findCurrentById(walletId)
+                .orElseThrow(() -> new IllegalArgumentException("Wallet not found: " + walletId));
+        change.accept(wallet);
+        if (walletRepository.trySave(wallet)) {
+            return;
+        }
+
+        log.debug("Wallet {} changed since its projection was read, rehydrating from events", walletId);
+        Wallet rehydrated = walletRepository.findById(walletId)
+                .orElseThrow(() -> new IllegalArgumentException("Wallet not found: " + walletId));
+        change.accept(rehydrated);
+        walletRepository.save(rehydrated);
+    }
+
     @Transactional
     public void handle(TransferCommand command) {
         if (command.getFromWalletId().equals(command.getToWalletId())) {
             throw new IllegalArgumentException("Cannot transfer to the same wallet");
         }
+        hotWalletTracker.recordRequest(command.getFromWalletId());
+        hotWalletTracker.recordRequest(command.getToWalletId());
 
         Wallet fromWallet = walletRepository.findById(command.getFromWalletId())
                 .orElseThrow(() -> new IllegalArgumentException("Source wallet not found: " + command.getFromWalletId()));
@@ -67,16 +101,151 @@ public class WalletCommandHandler {
                 .orElseThrow(() -> new IllegalArgumentException("Destination wallet not found: " + command.getToWalletId()));
 
         String transactionId = UUID.randomUUID().toString();
+        Money amount = Money.of(command.getAmount());
         
         // Process transfer
-        fromWallet.transferOut(command.getToWalletId(), command.getAmount(), transactionId);
-        toWallet.transferIn(command.getFromWalletId(), command.getAmount(), transactionId);
+        fromWallet.transferOut(command.getToWalletId(), amount, transactionId);
+        toWallet.transferIn(command.getFromWalletId(), amount, transactionId);
         
-        // Save both wallets
-        walletRepository.save(fromWallet);
-        walletRepository.save(toWallet);
+        // Save both wallets in id order, so opposite concurrent transfers lock them in the same order
+        if (fromWallet.getId().compareTo(toWallet.getId()) < 0) {
+            walletRepository.save(fromWallet);
+            walletRepository.save(toWallet);
+        } else {
+            walletRepository.save(toWallet);
+            walletRepository.save(fromWallet);
+        }
         
         log.info("Transferred {} from wallet {} to wallet {}", 
                 command.getAmount(), command.getFromWalletId(), command.getToWalletId());
     }
-} 
\ No newline at end of file
+
+    /**
+     * Pays many recipients from one wallet: the source is debited once with the total,
+     * and recipients are credited in batches loaded from the projection instead of one
+     * transfer (and one source rehydration) per recipient. Recipients that cannot be
+     * credited are rejected up front and excluded from the total.
+     */
+    @Transactional
+    public PayoutResult handle(PayoutCommand command) {
+        List<PayoutCommand.Payment> payments = command.getPayments();
+        if (payments == null || payments.isEmpty()) {
+            throw new IllegalArgumentException("A payout needs at least one recipient");
+        }
+        if (payments.size() > MAX_PAYOUT_RECIPIENTS) {
+            throw new IllegalArgumentException("At most " + MAX_PAYOUT_RECIPIENTS + " recipients per payout");
+        }
+
+        UUID sourceWalletId = command.getSourceWalletId();
+        hotWalletTracker.recordRequest(sourceWalletId);
+        Wallet source = walletRepository.findById(sourceWalletId)
+                .orElseThrow(() -> new IllegalArgumentException("Source wallet not found: " + sourceWalletId));
+
+        List<PayoutResult.Recipient> recipients = new ArrayList<>(payments.size());
+        Map<UUID, Money> accepted = new LinkedHashMap<>();
+        Set<UUID> seen = new HashSet<>();
+        for (PayoutCommand.Payment payment : payments) {
+            String reason = validate(payment, sourceWalletId, seen);
+            if (reason == null) {
+                accepted.put(payment.getToWalletId(), Money.of(payment.getAmount()));
+            }
+            recipients.add(PayoutResult.Recipient.builder()
+                    .toWalletId(payment.getToWalletId())
+                    .amount(payment.getAmount())
+                    .status(reason == null ? PayoutResult.Status.CREDITED : PayoutResult.Status.REJECTED)
+                    .reason(reason)
+                    .build());
+        }
+
+        Map<UUID, Wallet> wallets = new HashMap<>(accepted.size());
+        for (List<UUID> batch : batches(new ArrayList<>(accepted.keySet()))) {
+            wallets.putAll(walletRepository.findCurrentByIds(batch));
+        }
+        for (PayoutResult.Recipient recipient : recipients) {
+            if (recipient.getStatus() == PayoutResult.Status.CREDITED && !wallets.containsKey(recipient.getToWalletId())) {
+                accepted.remove(recipient.getToWalletId());
+                recipient.setStatus(PayoutResult.Status.REJECTED);
+                recipient.setReason("Wallet not found");
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return toResult(null, source, Money.ZERO, recipients);
+        }
+
+        accepted.keySet().forEach(hotWalletTracker::recordRequest);
+        String transactionId = UUID.randomUUID().toString();
+        Money total = accepted.values().stream().reduce(Money.ZERO, Money::plus);
+        source.payOut(total, accepted.size(), transactionId);
+        walletRepository.save(source);
+
+        for (List<UUID> batch : batches(new ArrayList<>(accepted.keySet()))) {
+            credit(batch, wallets, accepted, sourceWalletId, transactionId);
+        }
+
+        log.info("Paid out {} from wallet {} to {} recipients in transaction {}",
+                total, sourceWalletId, accepted.size(), transactionId);
+        return toResult(transactionId, source, total, recipients);
+    }
+
+    private void credit(List<UUID> batch, Map<UUID, Wallet> wallets, Map<UUID, Money> amounts,
+                        UUID sourceWalletId, String transactionId) {
+        List<Wallet> pending = batch.stream().map(wallets::get).toList();
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            if (attempt > MAX_CREDIT_ATTEMPTS) {
+                throw new ConcurrencyConflictException("Payout recipients kept changing concurrently");
+            }
+            if (attempt > 1) {
+                // Recipients touched by other commands since they were loaded: reload and credit again
+                Map<UUID, Wallet> reloaded = walletRepository.findCurrentByIds(pending.stream().map(Wallet::getId).toList());
+                pending = new ArrayList<>(reloaded.values());
+            }
+            for (Wallet wallet : pending) {
+                wallet.transferIn(sourceWalletId, amounts.get(wallet.getId()), transactionId);
+            }
+            pending = walletRepository.saveAll(pending);
+        }
+    }
+
+    private static String validate(PayoutCommand.Payment payment, UUID sourceWalletId, Set<UUID> seen) {
+        if (payment.getToWalletId() == null) {
+            return "Recipient wallet ID is required";
+        }
+        if (payment.getToWalletId().equals(sourceWalletId)) {
+            return "Cannot pay out to the source wallet";
+        }
+        if (!seen.add(payment.getToWalletId())) {
+            return "Duplicate recipient";
+        }
+        try {
+            if (payment.getAmount() == null || !Money.of(payment.getAmount()).isPositive()) {
+                return "Amount must be greater than 0";
+            }
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    private static List<List<UUID>> batches(List<UUID> ids) {
+        List<List<UUID>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += PAYOUT_BATCH_SIZE) {
+            batches.add(ids.subList(from, Math.min(from + PAYOUT_BATCH_SIZE, ids.size())));
+        }
+        return batches;
+    }
+
+    private static PayoutResult toResult(String transactionId, Wallet source, Money total,
+                                         List<PayoutResult.Recipient> recipients) {
+        int credited = (int) recipients.stream().filter(r -> r.getStatus() == PayoutResult.Status.CREDITED).count();
+        return PayoutResult.builder()
+                .transactionId(transactionId)
+                .sourceWalletId(source.getId())
+                .totalPaid(total.toBigDecimal())
+                .sourceBalanceAfter(source.getBalance().toBigDecimal())
+                .credited(credited)
+                .rejected(recipients.size() - credited)
+                .recipients(recipients)
+                .build();
+    }
+}
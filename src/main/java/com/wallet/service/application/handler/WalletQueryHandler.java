@@ -1,50 +1,152 @@
 package com.wallet.service.application.handler;
 
+import com.wallet.service.application.query.DailyTurnoverDto;
 import com.wallet.service.application.query.WalletDto;
+import com.wallet.service.application.query.WalletEventsDto;
+import com.wallet.service.application.query.WalletLookupResult;
+import com.wallet.service.application.query.WalletLookupResult.LookupType;
 import com.wallet.service.domain.aggregate.Wallet;
+import com.wallet.service.domain.exception.NotFoundException;
+import com.wallet.service.infrastructure.eventstore.EventStore;
+import com.wallet.service.infrastructure.persistence.EventRecord;
+import com.wallet.service.infrastructure.persistence.WalletDailyRollup;
+import com.wallet.service.infrastructure.persistence.WalletDailyRollupRepository;
 import com.wallet.service.infrastructure.persistence.WalletProjection;
 import com.wallet.service.infrastructure.persistence.WalletProjectionRepository;
+import com.wallet.service.infrastructure.persistence.WalletVersion;
 import com.wallet.service.infrastructure.repository.WalletRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WalletQueryHandler {
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final int MAX_TURNOVER_DAYS = 366;
+    public static final int MAX_EVENTS_PER_PAGE = 1000;
+    // Keeps IN lists short enough for the database to reuse query plans
+    private static final int IN_CLAUSE_CHUNK_SIZE = 100;
+
     private final WalletRepository walletRepository;
+    private final EventStore eventStore;
     private final WalletProjectionRepository walletProjectionRepository;
+    private final WalletDailyRollupRepository walletDailyRollupRepository;
+    private final PlatformTransactionManager transactionManager;
 
     @Transactional(readOnly = true)
     public WalletDto getWallet(UUID walletId) {
         WalletProjection projection = walletProjectionRepository.findById(walletId)
-                .orElseThrow(() -> new IllegalArgumentException("Wallet not found: " + walletId));
+                .orElseThrow(() -> new NotFoundException("Wallet not found: " + walletId));
 
-        return WalletDto.builder()
-                .id(projection.getId())
-                .userId(projection.getUserId())
-                .balance(projection.getBalance())
-                .version(projection.getVersion())
-                .lastUpdated(projection.getLastUpdated())
-                .build();
+        return toDto(projection);
     }
 
     @Transactional(readOnly = true)
     public WalletDto getWalletByUserId(UUID userId) {
         WalletProjection projection = walletProjectionRepository.findByUserId(userId)
-                .orElseThrow(() -> new IllegalArgumentException("Wallet not found for user: " + userId));
+                .orElseThrow(() -> new NotFoundException("Wallet not found for user: " + userId));
 
-        return WalletDto.builder()
-                .id(projection.getId())
-                .userId(projection.getUserId())
-                .balance(projection.getBalance())
-                .version(projection.getVersion())
-                .lastUpdated(projection.getLastUpdated())
+        return toDto(projection);
+    }
+
+    /**
+     * Resolves wallets by id and by user id with chunked IN queries against the
+     * projections. The size limit is checked at once; the returned stream sends one
+     * query per chunk as it is consumed, so callers can write each chunk out before the
+     * next is read. Each chunk is read in its own read-only transaction, so it uses the
+     * read pool. Results keep the request order, with a not-found entry per miss.
+     */
+    public Stream<WalletLookupResult> getWallets(List<UUID> walletIds, List<UUID> userIds) {
+        if (walletIds.size() + userIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids per batch lookup");
+        }
+
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return Stream.concat(
+                lookup(LookupType.WALLET_ID, walletIds,
+                        ids -> readOnlyTransaction.execute(status -> walletProjectionRepository.findAllById(ids)),
+                        WalletProjection::getId),
+                lookup(LookupType.USER_ID, userIds,
+                        ids -> readOnlyTransaction.execute(status -> walletProjectionRepository.findByUserIdIn(ids)),
+                        WalletProjection::getUserId));
+    }
+
+    /**
+     * Daily turnover from the rollup projection, one row per UTC day with activity.
+     * Days without events are omitted; their balance is the previous closing balance.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyTurnoverDto> getDailyTurnover(UUID walletId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_TURNOVER_DAYS) {
+            throw new IllegalArgumentException("At most " + MAX_TURNOVER_DAYS + " days per turnover query");
+        }
+        if (!walletProjectionRepository.existsById(walletId)) {
+            throw new IllegalArgumentException("Wallet not found: " + walletId);
+        }
+
+        return walletDailyRollupRepository.findByWalletIdAndDayBetweenOrderByDayAsc(walletId, from, to)
+                .stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    // Version probes for conditional requests: read only (id, version), not the full row
+    @Transactional(readOnly = true)
+    public Optional<WalletVersion> getWalletVersion(UUID walletId) {
+        return walletProjectionRepository.findVersionById(walletId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<WalletVersion> getWalletVersionByUserId(UUID userId) {
+        return walletProjectionRepository.findVersionByUserId(userId);
+    }
+
+    /**
+     * Events after {@code afterVersion}, oldest first, from the typed event columns.
+     * An empty page means the client is up to date.
+     */
+    @Transactional(readOnly = true)
+    public WalletEventsDto getEventsAfter(UUID walletId, int afterVersion, int limit) {
+        if (afterVersion < 0) {
+            throw new IllegalArgumentException("afterVersion must not be negative");
+        }
+        if (limit < 1 || limit > MAX_EVENTS_PER_PAGE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_EVENTS_PER_PAGE);
+        }
+
+        // One row past the limit tells whether another page follows
+        List<EventRecord> records = eventStore.getEventRecordsAfter(walletId, afterVersion, limit + 1);
+        if (records.isEmpty() && !walletProjectionRepository.existsById(walletId)) {
+            throw new IllegalArgumentException("Wallet not found: " + walletId);
+        }
+        List<EventRecord> page = records.size() > limit ? records.subList(0, limit) : records;
+
+        return WalletEventsDto.builder()
+                .walletId(walletId)
+                .version(page.isEmpty() ? afterVersion : page.get(page.size() - 1).version())
+                .hasMore(records.size() > limit)
+                .events(page.stream().map(this::toEvent).toList())
                 .build();
     }
 
@@ -56,9 +158,60 @@ public class WalletQueryHandler {
         return WalletDto.builder()
                 .id(wallet.getId())
                 .userId(wallet.getUserId())
-                .balance(wallet.getBalance())
+                .balance(wallet.getBalance().toBigDecimal())
                 .version(wallet.getVersion())
                 .lastUpdated(timestamp)
                 .build();
     }
-} 
\ No newline at end of file
+
+    private Stream<WalletLookupResult> lookup(LookupType lookup, List<UUID> keys,
+                                              Function<List<UUID>, List<WalletProjection>> query,
+                                              Function<WalletProjection, UUID> key) {
+        return IntStream.iterate(0, i -> i < keys.size(), i -> i + IN_CLAUSE_CHUNK_SIZE)
+                .mapToObj(i -> keys.subList(i, Math.min(i + IN_CLAUSE_CHUNK_SIZE, keys.size())))
+                .flatMap(chunk -> {
+                    Map<UUID, WalletProjection> found = query.apply(chunk.stream().distinct().toList()).stream()
+                            .collect(Collectors.toMap(key, Function.identity()));
+                    return chunk.stream().map(id -> toResult(lookup, id, found.get(id)));
+                });
+    }
+
+    private WalletLookupResult toResult(LookupType lookup, UUID key, WalletProjection projection) {
+        return projection == null
+                ? WalletLookupResult.notFound(lookup, key)
+                : WalletLookupResult.found(lookup, key, toDto(projection));
+    }
+
+    private WalletDto toDto(WalletProjection projection) {
+        return WalletDto.builder()
+                .id(projection.getId())
+                .userId(projection.getUserId())
+                .balance(projection.getBalance().toBigDecimal())
+                .version(projection.getVersion())
+                .lastUpdated(projection.getLastUpdated())
+                .build();
+    }
+
+    private WalletEventsDto.Event toEvent(EventRecord record) {
+        return WalletEventsDto.Event.builder()
+                .version(record.version())
+                .eventType(record.eventType())
+                .userId(record.userId())
+                .amount(record.amount() == null ? null : record.amount().toBigDecimal())
+                .balanceAfter(record.balanceAfter() == null ? null : record.balanceAfter().toBigDecimal())
+                .transactionId(record.transactionId())
+                .occurredAt(record.occurredAt())
+                .build();
+    }
+
+    private DailyTurnoverDto toDto(WalletDailyRollup rollup) {
+        return DailyTurnoverDto.builder()
+                .day(rollup.getDay())
+                .deposits(rollup.getDeposits().toBigDecimal())
+                .withdrawals(rollup.getWithdrawals().toBigDecimal())
+                .transfersIn(rollup.getTransfersIn().toBigDecimal())
+                .transfersOut(rollup.getTransfersOut().toBigDecimal())
+                .closingBalance(rollup.getClosingBalance().toBigDecimal())
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.wallet.service.application.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.application.export.EventLogExporter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Reads an event file in either export format, one event at a time. Files starting
+ * with the binary magic bytes are read as binary, anything else as NDJSON.
+ */
+class EventFileReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final BufferedReader ndjson;
+    private final DataInputStream binary;
+    private long line;
+
+    EventFileReader(Path file, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        BufferedInputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        in.mark(EventLogExporter.BINARY_MAGIC.length);
+        boolean isBinary = Arrays.equals(in.readNBytes(EventLogExporter.BINARY_MAGIC.length), EventLogExporter.BINARY_MAGIC);
+        if (isBinary) {
+            this.binary = new DataInputStream(in);
+            this.ndjson = null;
+        } else {
+            in.reset();
+            this.ndjson = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+            this.binary = null;
+        }
+    }
+
+    /**
+     * The next event, or null at the end of the file.
+     */
+    ImportedEvent next() throws IOException {
+        return binary != null ? nextBinary() : nextNdjson();
+    }
+
+    private ImportedEvent nextNdjson() throws IOException {
+        String text;
+        do {
+            text = ndjson.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new ImportFormatException(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        JsonNode data = node.get("data");
+        if (!node.hasNonNull("eventType") || data == null || !data.isObject()) {
+            throw new ImportFormatException(line, "eventType and an object data payload are required");
+        }
+        try {
+            return new ImportedEvent(line,
+                    node.hasNonNull("aggregateId") ? UUID.fromString(node.get("aggregateId").asText()) : null,
+                    node.hasNonNull("aggregateType") ? node.get("aggregateType").asText() : "Wallet",
+                    node.get("eventType").asText(),
+                    node.hasNonNull("version") ? node.get("version").asInt() : null,
+                    node.hasNonNull("occurredAt") ? Instant.parse(node.get("occurredAt").asText()) : null,
+                    data.toString());
+        } catch (RuntimeException e) {
+            throw new ImportFormatException(line, "Invalid envelope field: " + e.getMessage());
+        }
+    }
+
+    private ImportedEvent nextBinary() throws IOException {
+        long position;
+        try {
+            position = binary.readLong();
+        } catch (EOFException e) {
+            return null;
+        }
+        line++;
+        UUID aggregateId = new UUID(binary.readLong(), binary.readLong());
+        String aggregateType = binary.readUTF();
+        String eventType = binary.readUTF();
+        int version = binary.readInt();
+        Instant occurredAt = Instant.ofEpochSecond(binary.readLong(), binary.readInt());
+        byte[] payload = binary.readNBytes(binary.readInt());
+        return new ImportedEvent(line, aggregateId, aggregateType, eventType, version, occurredAt,
+                new String(payload, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (binary != null) {
+            binary.close();
+        } else {
+            ndjson.close();
+        }
+    }
+}
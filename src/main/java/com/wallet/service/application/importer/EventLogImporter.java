@@ -0,0 +1,395 @@
+package com.wallet.service.application.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.domain.event.DomainEvent;
+import com.wallet.service.domain.event.MoneyDepositedEvent;
+import com.wallet.service.domain.event.MoneyPaidOutEvent;
+import com.wallet.service.domain.event.MoneyTransferredEvent;
+import com.wallet.service.domain.event.MoneyWithdrawnEvent;
+import com.wallet.service.domain.event.WalletCreatedEvent;
+import com.wallet.service.domain.valueobject.Money;
+import com.wallet.service.infrastructure.eventstore.EventCodec;
+import com.wallet.service.infrastructure.persistence.EventEntity;
+import com.wallet.service.infrastructure.persistence.WalletProjection;
+import com.wallet.service.infrastructure.persistence.WalletProjectionRepository;
+import com.wallet.service.infrastructure.persistence.WalletSnapshot;
+import com.wallet.service.infrastructure.projection.DailyTurnoverProjector;
+import com.wallet.service.infrastructure.repository.UserIdMembershipFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk import of wallet histories, e.g. when migrating from another ledger. The file
+ * (in either export format) is read twice. The first pass validates each wallet's
+ * version sequence and balance arithmetic and keeps only the running state per wallet.
+ * The second pass loads the events with large JDBC batches instead of going through
+ * the per-command save path. Each batch commits on its own together with the daily
+ * turnover and the projections of the wallets it touched, so every committed batch is
+ * consistent. No transaction holds event positions open for the length of the file,
+ * which readers that follow positions would give up on after the gap timeout (see
+ * {@code EventLogHorizon}). Only new wallets can be imported.
+ */
+@Service
+@Slf4j
+public class EventLogImporter {
+    static final int MAX_REPORTED_ERRORS = 100;
+    private static final int LOOKUP_CHUNK_SIZE = 1_000;
+    private static final String AGGREGATE_TYPE = "Wallet";
+    private static final String CREATED_EVENT_TYPE = "WALLET_CREATED";
+
+    private static final String INSERT_EVENT_SQL = """
+            insert into events (id, aggregate_id, aggregate_type, event_type, version, user_id, amount_minor,
+                                balance_after_minor, transaction_id, event_data, occurred_at, created_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_PROJECTION_SQL = """
+            insert into wallet_projections (id, user_id, balance_minor, version, last_updated)
+            values (?, ?, ?, ?, ?)
+            """;
+    private static final String ADVANCE_PROJECTION_SQL = """
+            update wallet_projections set balance_minor = ?, version = ?, last_updated = ?
+            where id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final EventCodec eventCodec;
+    private final DailyTurnoverProjector dailyTurnoverProjector;
+    private final WalletProjectionRepository walletProjectionRepository;
+    private final UserIdMembershipFilter userIdMembershipFilter;
+    private final int batchSize;
+
+    public EventLogImporter(DataSource dataSource,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            EventCodec eventCodec,
+                            DailyTurnoverProjector dailyTurnoverProjector,
+                            WalletProjectionRepository walletProjectionRepository,
+                            UserIdMembershipFilter userIdMembershipFilter,
+                            @Value("${wallet.import.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.eventCodec = eventCodec;
+        this.dailyTurnoverProjector = dailyTurnoverProjector;
+        this.walletProjectionRepository = walletProjectionRepository;
+        this.userIdMembershipFilter = userIdMembershipFilter;
+        this.batchSize = batchSize;
+    }
+
+    public ImportReport importFile(Path file) throws IOException {
+        long start = System.nanoTime();
+        Validation validation = new Validation();
+        try (EventFileReader reader = new EventFileReader(file, objectMapper)) {
+            while (true) {
+                ImportedEvent imported;
+                try {
+                    imported = reader.next();
+                } catch (ImportFormatException e) {
+                    // Report and skip malformed lines so one run shows every problem
+                    validation.error(e.getLine(), null, e.getMessage());
+                    continue;
+                }
+                if (imported == null) {
+                    break;
+                }
+                validation.check(imported);
+            }
+        }
+        if (validation.errorCount == 0) {
+            checkWalletsAreNew(validation);
+        }
+        if (validation.errorCount > 0) {
+            log.warn("Import of {} rejected with {} errors", file, validation.errorCount);
+            return report(false, validation, start);
+        }
+
+        load(file, validation.events);
+
+        ImportReport report = report(true, validation, start);
+        log.info("Imported {} events for {} wallets from {} in {} ms",
+                report.getEvents(), report.getWallets(), file, report.getDurationMillis());
+        return report;
+    }
+
+    private void checkWalletsAreNew(Validation validation) {
+        List<UUID> walletIds = new ArrayList<>(validation.wallets.keySet());
+        for (int from = 0; from < walletIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<UUID> chunk = walletIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, walletIds.size()));
+            for (WalletSnapshot existing : walletProjectionRepository.findSnapshotsByIdIn(chunk)) {
+                validation.error(0, existing.id(), "Wallet already exists");
+            }
+            List<UUID> userIds = chunk.stream().map(id -> validation.wallets.get(id).userId).toList();
+            for (WalletProjection existing : walletProjectionRepository.findByUserIdIn(userIds)) {
+                validation.error(0, null, "User " + existing.getUserId() + " already has a wallet");
+            }
+        }
+    }
+
+    private void load(Path file, long total) {
+        List<DomainEvent> batch = new ArrayList<>(batchSize);
+        long committed = 0;
+        try (EventFileReader reader = new EventFileReader(file, objectMapper)) {
+            ImportedEvent imported;
+            while ((imported = reader.next()) != null) {
+                batch.add(eventCodec.decode(imported.eventType(), imported.data()));
+                if (batch.size() == batchSize) {
+                    commit(batch);
+                    committed += batch.size();
+                    batch.clear();
+                }
+            }
+            commit(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            // The file was validated, so this is the database failing or a wallet created meanwhile
+            throw new IllegalStateException("Import stopped after committing " + committed + " of " + total
+                    + " events: " + e.getMessage(), e);
+        }
+    }
+
+    private void commit(List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<EventEntity> entities = events.stream().map(event -> eventCodec.encode(event, AGGREGATE_TYPE)).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            insertEvents(entities);
+            dailyTurnoverProjector.project(events);
+            writeProjections(entities);
+        });
+        entities.stream()
+                .filter(entity -> CREATED_EVENT_TYPE.equals(entity.getEventType()))
+                .forEach(entity -> userIdMembershipFilter.add(entity.getUserId()));
+    }
+
+    private void insertEvents(List<EventEntity> entities) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, entities, batchSize, (ps, entity) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, entity.getAggregateId());
+            ps.setString(3, entity.getAggregateType());
+            ps.setString(4, entity.getEventType());
+            ps.setInt(5, entity.getVersion());
+            ps.setObject(6, entity.getUserId());
+            setMoney(ps, 7, entity.getAmount());
+            setMoney(ps, 8, entity.getBalanceAfter());
+            ps.setString(9, entity.getTransactionId());
+            ps.setString(10, entity.getEventData());
+            ps.setObject(11, entity.getOccurredAt().atOffset(ZoneOffset.UTC));
+            ps.setObject(12, entity.getCreatedAt().atOffset(ZoneOffset.UTC));
+        });
+    }
+
+    // Wallets created in this batch get their projection, earlier ones are moved forward
+    private void writeProjections(List<EventEntity> entities) {
+        Map<UUID, EventEntity> latest = new LinkedHashMap<>();
+        Map<UUID, UUID> created = new HashMap<>();
+        for (EventEntity entity : entities) {
+            latest.put(entity.getAggregateId(), entity);
+            if (CREATED_EVENT_TYPE.equals(entity.getEventType())) {
+                created.put(entity.getAggregateId(), entity.getUserId());
+            }
+        }
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<EventEntity> inserts = latest.values().stream().filter(e -> created.containsKey(e.getAggregateId())).toList();
+        List<EventEntity> updates = latest.values().stream().filter(e -> !created.containsKey(e.getAggregateId())).toList();
+        jdbcTemplate.batchUpdate(INSERT_PROJECTION_SQL, inserts, batchSize, (ps, entity) -> {
+            ps.setObject(1, entity.getAggregateId());
+            ps.setObject(2, created.get(entity.getAggregateId()));
+            ps.setLong(3, entity.getBalanceAfter().minorUnits());
+            ps.setInt(4, entity.getVersion());
+            ps.setObject(5, now);
+        });
+        jdbcTemplate.batchUpdate(ADVANCE_PROJECTION_SQL, updates, batchSize, (ps, entity) -> {
+            ps.setLong(1, entity.getBalanceAfter().minorUnits());
+            ps.setInt(2, entity.getVersion());
+            ps.setObject(3, now);
+            ps.setObject(4, entity.getAggregateId());
+        });
+    }
+
+    private static void setMoney(PreparedStatement ps, int index, Money money) throws SQLException {
+        if (money == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, money.minorUnits());
+        }
+    }
+
+    private static ImportReport report(boolean imported, Validation validation, long start) {
+        return ImportReport.builder()
+                .imported(imported)
+                .events(validation.events)
+                .wallets(validation.wallets.size())
+                .durationMillis((System.nanoTime() - start) / 1_000_000)
+                .errorCount(validation.errorCount)
+                .errors(validation.errors)
+                .build();
+    }
+
+    private static final class WalletState {
+        private final UUID userId;
+        private int version;
+        private long balance;
+        private boolean failed;
+
+        WalletState(UUID userId, long balance) {
+            this.userId = userId;
+            this.version = 1;
+            this.balance = balance;
+        }
+    }
+
+    private final class Validation {
+        private final Map<UUID, WalletState> wallets = new HashMap<>();
+        private final Set<UUID> userIds = new HashSet<>();
+        private final List<ImportReport.Error> errors = new ArrayList<>();
+        private long events;
+        private long errorCount;
+
+        void check(ImportedEvent imported) {
+            events++;
+            DomainEvent event;
+            try {
+                event = eventCodec.decode(imported.eventType(), imported.data());
+            } catch (RuntimeException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                error(imported.line(), imported.aggregateId(),
+                        "Cannot decode " + imported.eventType() + " payload: " + cause.getMessage());
+                return;
+            }
+
+            UUID walletId = event.getAggregateId();
+            if (walletId == null || event.getOccurredAt() == null) {
+                error(imported.line(), imported.aggregateId(), "Payload needs aggregateId and occurredAt");
+                return;
+            }
+            if (!AGGREGATE_TYPE.equals(imported.aggregateType())
+                    || (imported.aggregateId() != null && !imported.aggregateId().equals(walletId))
+                    || (imported.version() != null && imported.version() != event.getVersion())) {
+                error(imported.line(), walletId, "Envelope does not match payload");
+                return;
+            }
+
+            WalletState wallet = wallets.get(walletId);
+            if (event instanceof WalletCreatedEvent created) {
+                checkCreated(imported.line(), created, wallet);
+                return;
+            }
+            if (wallet == null) {
+                error(imported.line(), walletId, "Event before WALLET_CREATED");
+                return;
+            }
+            if (wallet.failed) {
+                return;
+            }
+            if (event.getVersion() != wallet.version + 1) {
+                fail(wallet, imported.line(), walletId,
+                        "Expected version " + (wallet.version + 1) + " but found " + event.getVersion());
+                return;
+            }
+
+            Money amount;
+            Money balanceAfter;
+            boolean credit;
+            switch (event) {
+                case MoneyDepositedEvent e -> {
+                    amount = e.getAmount();
+                    balanceAfter = e.getBalanceAfter();
+                    credit = true;
+                }
+                case MoneyWithdrawnEvent e -> {
+                    amount = e.getAmount();
+                    balanceAfter = e.getBalanceAfter();
+                    credit = false;
+                }
+                case MoneyTransferredEvent e -> {
+                    amount = e.getAmount();
+                    balanceAfter = e.getBalanceAfter();
+                    credit = e.getTransferType() == MoneyTransferredEvent.TransferType.RECEIVED;
+                }
+                case MoneyPaidOutEvent e -> {
+                    amount = e.getAmount();
+                    balanceAfter = e.getBalanceAfter();
+                    credit = false;
+                }
+                default -> {
+                    fail(wallet, imported.line(), walletId, "Unsupported event type " + event.getEventType());
+                    return;
+                }
+            }
+            if (amount == null || balanceAfter == null || !amount.isPositive()) {
+                fail(wallet, imported.line(), walletId, "Amount must be positive and balanceAfter present");
+                return;
+            }
+            long expected = credit
+                    ? Math.addExact(wallet.balance, amount.minorUnits())
+                    : Math.subtractExact(wallet.balance, amount.minorUnits());
+            if (expected < 0 || balanceAfter.minorUnits() != expected) {
+                fail(wallet, imported.line(), walletId, "balanceAfter " + balanceAfter
+                        + " does not follow from " + Money.ofMinor(wallet.balance) + (credit ? " + " : " - ") + amount);
+                return;
+            }
+            wallet.version = event.getVersion();
+            wallet.balance = expected;
+        }
+
+        private void checkCreated(long line, WalletCreatedEvent created, WalletState existing) {
+            UUID walletId = created.getAggregateId();
+            if (existing != null) {
+                fail(existing, line, walletId, "Duplicate WALLET_CREATED");
+            } else if (created.getVersion() != 1) {
+                error(line, walletId, "WALLET_CREATED must be version 1");
+            } else if (created.getUserId() == null || created.getInitialBalance() == null
+                    || created.getInitialBalance().minorUnits() < 0) {
+                error(line, walletId, "WALLET_CREATED needs a userId and a non-negative initial balance");
+            } else if (!userIds.add(created.getUserId())) {
+                error(line, walletId, "User " + created.getUserId() + " has more than one wallet");
+            } else {
+                wallets.put(walletId, new WalletState(created.getUserId(), created.getInitialBalance().minorUnits()));
+            }
+        }
+
+        // Later events of a broken wallet would only repeat the same problem
+        private void fail(WalletState wallet, long line, UUID walletId, String message) {
+            wallet.failed = true;
+            error(line, walletId, message);
+        }
+
+        void error(long line, UUID walletId, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(ImportReport.Error.builder()
+                        .line(line)
+                        .aggregateId(Objects.toString(walletId, null))
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+}
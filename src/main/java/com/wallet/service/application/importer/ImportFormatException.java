@@ -0,0 +1,17 @@
+package com.wallet.service.application.importer;
+
+/**
+ * A record in the import file that cannot be parsed at all.
+ */
+class ImportFormatException extends RuntimeException {
+    private final long line;
+
+    ImportFormatException(long line, String message) {
+        super(message);
+        this.line = line;
+    }
+
+    long getLine() {
+        return line;
+    }
+}
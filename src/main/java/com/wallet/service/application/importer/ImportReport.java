@@ -0,0 +1,31 @@
+package com.wallet.service.application.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+    private boolean imported;
+    private long events;
+    private long wallets;
+    private long durationMillis;
+    private long errorCount;
+    private List<Error> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Error {
+        private long line;
+        private String aggregateId;
+        private String message;
+    }
+}
@@ -0,0 +1,12 @@
+package com.wallet.service.application.importer;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One event as read from an import file. Only the event type and payload are
+ * required; the envelope fields, when present, must agree with the payload.
+ */
+record ImportedEvent(long line, UUID aggregateId, String aggregateType, String eventType,
+                     Integer version, Instant occurredAt, String data) {
+}
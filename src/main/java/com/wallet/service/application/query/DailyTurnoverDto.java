@@ -0,0 +1,22 @@
+package com.wallet.service.application.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyTurnoverDto {
+    private LocalDate day;
+    private BigDecimal deposits;
+    private BigDecimal withdrawals;
+    private BigDecimal transfersIn;
+    private BigDecimal transfersOut;
+    private BigDecimal closingBalance;
+}
@@ -0,0 +1,33 @@
+package com.wallet.service.application.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionDto {
+    private String transactionId;
+    private List<Leg> legs;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Leg {
+        private UUID walletId;
+        private String eventType;
+        private BigDecimal amount;
+        private BigDecimal balanceAfter;
+        private int version;
+        private Instant occurredAt;
+    }
+}
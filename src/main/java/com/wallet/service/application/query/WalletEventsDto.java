@@ -0,0 +1,42 @@
+package com.wallet.service.application.query;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A page of a wallet's events after a known version. {@code version} is the version
+ * to pass as afterVersion next time; {@code hasMore} means the limit cut the page short.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletEventsDto {
+    private UUID walletId;
+    private int version;
+    private boolean hasMore;
+    private List<Event> events;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Event {
+        private int version;
+        private String eventType;
+        private UUID userId;
+        private BigDecimal amount;
+        private BigDecimal balanceAfter;
+        private String transactionId;
+        private Instant occurredAt;
+    }
+}
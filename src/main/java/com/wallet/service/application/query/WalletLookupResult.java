@@ -0,0 +1,33 @@
+package com.wallet.service.application.query;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WalletLookupResult {
+    private LookupType lookup;
+    private UUID key;
+    private boolean found;
+    private WalletDto wallet;
+
+    public enum LookupType {
+        WALLET_ID, USER_ID
+    }
+
+    public static WalletLookupResult found(LookupType lookup, UUID key, WalletDto wallet) {
+        return new WalletLookupResult(lookup, key, true, wallet);
+    }
+
+    public static WalletLookupResult notFound(LookupType lookup, UUID key) {
+        return new WalletLookupResult(lookup, key, false, null);
+    }
+}
@@ -0,0 +1,87 @@
+package com.wallet.service.application.report;
+
+import com.wallet.service.domain.valueobject.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Balance of every wallet as of a cutoff, computed with one streaming scan of the
+ * event log instead of one replay per wallet. Only the latest balanceAfter per
+ * wallet is kept, in a primitive map, so memory grows with the number of wallets
+ * and not the number of events. The scan runs in a read-only transaction, so it uses
+ * the read pool, and with autocommit off the driver fetches rows in batches instead of
+ * buffering the whole result.
+ */
+@Service
+@Slf4j
+public class BalanceAsOfReport {
+    private static final int FETCH_SIZE = 5_000;
+    private static final int EXPECTED_WALLETS = 1 << 16;
+
+    // Unordered: the map keeps each wallet's highest version, so no sort is needed
+    private static final String SCAN_SQL = """
+            select aggregate_id, version, balance_after_minor
+            from events
+            where occurred_at <= ? and balance_after_minor is not null
+            """;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BalanceAsOfReport(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void write(Instant cutoff, Format format, OutputStream outputStream) throws IOException {
+        WalletBalanceMap balances = scan(cutoff);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write("walletId,balance,version\n");
+        }
+        balances.forEach((walletId, balance, version) -> writeRow(writer, format, walletId, balance, version));
+        writer.flush();
+        log.info("Wrote balance report as of {} for {} wallets", cutoff, balances.size());
+    }
+
+    private WalletBalanceMap scan(Instant cutoff) {
+        WalletBalanceMap balances = new WalletBalanceMap(EXPECTED_WALLETS);
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(SCAN_SQL, rs -> {
+            UUID walletId = rs.getObject(1, UUID.class);
+            balances.put(walletId.getMostSignificantBits(), walletId.getLeastSignificantBits(),
+                    rs.getInt(2), rs.getLong(3));
+        }, cutoff.atOffset(ZoneOffset.UTC)));
+        return balances;
+    }
+
+    private static void writeRow(Writer writer, Format format, UUID walletId, long balance, int version)
+            throws IOException {
+        String amount = Money.ofMinor(balance).toString();
+        if (format == Format.CSV) {
+            writer.write(walletId + "," + amount + "," + version + "\n");
+        } else {
+            writer.write("{\"walletId\":\"" + walletId + "\",\"balance\":" + amount + ",\"version\":" + version + "}\n");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.wallet.service.application.report;
+
+import com.wallet.service.infrastructure.hashing.Hashing;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Open-addressing map from wallet id to (balance in minor units, version), stored in
+ * parallel primitive arrays with no per-entry objects. A slot takes 28 bytes; with the
+ * capacity a power of two and the load at most 0.6, that is about 47 to 93 bytes per
+ * wallet.
+ * Keeps the balance of the highest version seen for each wallet. Not thread-safe.
+ */
+class WalletBalanceMap {
+    private static final double MAX_LOAD = 0.6;
+
+    private long[] mostSigBits;
+    private long[] leastSigBits;
+    private long[] balances;
+    // Event versions start at 1, so 0 marks an empty slot
+    private int[] versions;
+    private int size;
+
+    WalletBalanceMap(int expectedWallets) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedWallets / MAX_LOAD)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    void put(long msb, long lsb, int version, long balance) {
+        int slot = find(msb, lsb);
+        if (versions[slot] == 0) {
+            mostSigBits[slot] = msb;
+            leastSigBits[slot] = lsb;
+            versions[slot] = version;
+            balances[slot] = balance;
+            if (++size > versions.length * MAX_LOAD) {
+                resize();
+            }
+        } else if (version > versions[slot]) {
+            versions[slot] = version;
+            balances[slot] = balance;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(EntryConsumer consumer) throws IOException {
+        for (int i = 0; i < versions.length; i++) {
+            if (versions[i] != 0) {
+                consumer.accept(new UUID(mostSigBits[i], leastSigBits[i]), balances[i], versions[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(UUID walletId, long balance, int version) throws IOException;
+    }
+
+    private int find(long msb, long lsb) {
+        int mask = versions.length - 1;
+        int slot = (int) (Hashing.mix64(msb ^ lsb)) & mask;
+        while (versions[slot] != 0 && (mostSigBits[slot] != msb || leastSigBits[slot] != lsb)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldMsb = mostSigBits;
+        long[] oldLsb = leastSigBits;
+        long[] oldBalances = balances;
+        int[] oldVersions = versions;
+        allocate(oldVersions.length << 1);
+        for (int i = 0; i < oldVersions.length; i++) {
+            if (oldVersions[i] != 0) {
+                int slot = find(oldMsb[i], oldLsb[i]);
+                mostSigBits[slot] = oldMsb[i];
+                leastSigBits[slot] = oldLsb[i];
+                balances[slot] = oldBalances[i];
+                versions[slot] = oldVersions[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        mostSigBits = new long[capacity];
+        leastSigBits = new long[capacity];
+        balances = new long[capacity];
+        versions = new int[capacity];
+    }
+}
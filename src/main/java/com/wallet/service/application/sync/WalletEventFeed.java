@@ -0,0 +1,190 @@
+package com.wallet.service.application.sync;
+
+import com.wallet.service.application.handler.WalletQueryHandler;
+import com.wallet.service.application.query.WalletEventsDto;
+import com.wallet.service.domain.valueobject.Money;
+import com.wallet.service.infrastructure.sync.WalletChangeNotifier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long polling over a wallet's events. A poll with events after the client's version
+ * returns at once. Otherwise it waits without holding a thread until the wallet
+ * changes on this node, a periodic recheck finds events this node was not told about
+ * (written through another node, or not yet in the read database), or the wait runs
+ * out with an empty page.
+ *
+ * <p>The binary format starts with the magic bytes {@code WSY1}, then wallet id (two
+ * longs), version (int), hasMore (boolean) and the event count (int). Each event is its
+ * version (int), event type (modified UTF-8, as written by {@link DataOutputStream#writeUTF}),
+ * a flags byte telling which optional fields follow: user id (bit 0, two longs), amount
+ * (bit 1, minor units as long), balance after (bit 2, minor units as long) and
+ * transaction id (bit 3, modified UTF-8). It ends with occurredAt epoch seconds (long)
+ * and nanos (int). All numbers are big-endian.
+ */
+@Service
+@Slf4j
+public class WalletEventFeed implements DisposableBean {
+    public static final byte[] BINARY_MAGIC = {'W', 'S', 'Y', '1'};
+
+    public enum Format {
+        JSON, BINARY
+    }
+
+    private final WalletQueryHandler queryHandler;
+    private final WalletChangeNotifier changeNotifier;
+    private final Duration maxWait;
+    private final Duration recheckInterval;
+    private final ScheduledExecutorService executor;
+
+    public WalletEventFeed(
+            WalletQueryHandler queryHandler,
+            WalletChangeNotifier changeNotifier,
+            @Value("${wallet.sync.max-wait:30s}") Duration maxWait,
+            @Value("${wallet.sync.recheck-interval:5s}") Duration recheckInterval,
+            @Value("${wallet.sync.threads:2}") int threads) {
+        this.queryHandler = queryHandler;
+        this.changeNotifier = changeNotifier;
+        this.maxWait = maxWait;
+        this.recheckInterval = recheckInterval;
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "wallet-event-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Events after {@code afterVersion}, waiting up to {@code wait} for the first one.
+     * Invalid arguments and unknown wallets fail on the calling thread.
+     */
+    public CompletableFuture<WalletEventsDto> poll(UUID walletId, int afterVersion, int limit, Duration wait) {
+        if (wait.isNegative() || wait.compareTo(maxWait) > 0) {
+            throw new IllegalArgumentException("wait must be between 0s and " + maxWait.toSeconds() + "s");
+        }
+        if (wait.isZero()) {
+            return CompletableFuture.completedFuture(queryHandler.getEventsAfter(walletId, afterVersion, limit));
+        }
+
+        Poll poll = new Poll(walletId, afterVersion, limit);
+        try {
+            poll.check();
+        } catch (RuntimeException e) {
+            poll.stop();
+            throw e;
+        }
+        if (poll.result.isDone()) {
+            return poll.result;
+        }
+
+        ScheduledFuture<?> recheck = executor.scheduleWithFixedDelay(poll::checkQuietly,
+                recheckInterval.toMillis(), recheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+        poll.result
+                .completeOnTimeout(new WalletEventsDto(walletId, afterVersion, false, List.of()),
+                        wait.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((page, error) -> {
+                    recheck.cancel(false);
+                    poll.stop();
+                });
+        return poll.result;
+    }
+
+    public static byte[] encode(WalletEventsDto page) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + page.getEvents().size() * 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(BINARY_MAGIC);
+            out.writeLong(page.getWalletId().getMostSignificantBits());
+            out.writeLong(page.getWalletId().getLeastSignificantBits());
+            out.writeInt(page.getVersion());
+            out.writeBoolean(page.isHasMore());
+            out.writeInt(page.getEvents().size());
+            for (WalletEventsDto.Event event : page.getEvents()) {
+                out.writeInt(event.getVersion());
+                out.writeUTF(event.getEventType());
+                out.writeByte((event.getUserId() != null ? 1 : 0)
+                        | (event.getAmount() != null ? 2 : 0)
+                        | (event.getBalanceAfter() != null ? 4 : 0)
+                        | (event.getTransactionId() != null ? 8 : 0));
+                if (event.getUserId() != null) {
+                    out.writeLong(event.getUserId().getMostSignificantBits());
+                    out.writeLong(event.getUserId().getLeastSignificantBits());
+                }
+                if (event.getAmount() != null) {
+                    out.writeLong(Money.of(event.getAmount()).minorUnits());
+                }
+                if (event.getBalanceAfter() != null) {
+                    out.writeLong(Money.of(event.getBalanceAfter()).minorUnits());
+                }
+                if (event.getTransactionId() != null) {
+                    out.writeUTF(event.getTransactionId());
+                }
+                out.writeLong(event.getOccurredAt().getEpochSecond());
+                out.writeInt(event.getOccurredAt().getNano());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private final class Poll {
+        private final UUID walletId;
+        private final int afterVersion;
+        private final int limit;
+        private final CompletableFuture<WalletEventsDto> result = new CompletableFuture<>();
+        private Runnable unlisten = () -> {
+        };
+
+        private Poll(UUID walletId, int afterVersion, int limit) {
+            this.walletId = walletId;
+            this.afterVersion = afterVersion;
+            this.limit = limit;
+        }
+
+        // Listening before reading means a commit in between still wakes this poll
+        synchronized void check() {
+            if (result.isDone()) {
+                return;
+            }
+            unlisten.run();
+            unlisten = changeNotifier.listen(walletId, () -> executor.execute(this::checkQuietly));
+            WalletEventsDto page = queryHandler.getEventsAfter(walletId, afterVersion, limit);
+            if (!page.getEvents().isEmpty()) {
+                result.complete(page);
+            }
+        }
+
+        void checkQuietly() {
+            try {
+                check();
+            } catch (RuntimeException e) {
+                log.warn("Event poll for wallet {} failed: {}", walletId, e.getMessage());
+                result.completeExceptionally(e);
+            }
+        }
+
+        synchronized void stop() {
+            unlisten.run();
+        }
+    }
+}
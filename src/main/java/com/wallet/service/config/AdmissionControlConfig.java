@@ -0,0 +1,51 @@
+package com.wallet.service.config;
+
+import com.wallet.service.infrastructure.admission.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Separate adaptive concurrency limits for commands and queries, so a burst of
+ * reads cannot use up the capacity needed to move money, and vice versa.
+ */
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter commandLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${wallet.admission.command.initial-limit:20}") int initialLimit,
+            @Value("${wallet.admission.command.min-limit:2}") int minLimit,
+            @Value("${wallet.admission.command.max-limit:200}") int maxLimit) {
+        return register(new AdaptiveConcurrencyLimiter("command", initialLimit, minLimit, maxLimit), meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter queryLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${wallet.admission.query.initial-limit:50}") int initialLimit,
+            @Value("${wallet.admission.query.min-limit:5}") int minLimit,
+            @Value("${wallet.admission.query.max-limit:500}") int maxLimit) {
+        return register(new AdaptiveConcurrencyLimiter("query", initialLimit, minLimit, maxLimit), meterRegistry);
+    }
+
+    private AdaptiveConcurrencyLimiter register(AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+        Gauge.builder("wallet.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("class", limiter.getName())
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("wallet.admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("class", limiter.getName())
+                .description("Requests currently holding a permit")
+                .register(meterRegistry);
+        FunctionCounter.builder("wallet.admission.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .tag("class", limiter.getName())
+                .description("Requests rejected with 429 because the limit was reached")
+                .register(meterRegistry);
+        return limiter;
+    }
+}
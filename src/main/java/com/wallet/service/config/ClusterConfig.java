@@ -0,0 +1,49 @@
+package com.wallet.service.config;
+
+import com.wallet.service.infrastructure.cluster.ClusterMembership;
+import com.wallet.service.infrastructure.cluster.ClusterRouter;
+import com.wallet.service.infrastructure.cluster.FileRegistryClusterMembership;
+import com.wallet.service.infrastructure.cluster.StaticClusterMembership;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Multi-node mode: each wallet is owned by one instance picked from a consistent-hash
+ * ring, and commands received elsewhere are forwarded to the owner. Membership comes
+ * from a shared registry directory when one is configured, otherwise from a static list.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wallet.cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean
+    public ClusterMembership clusterMembership(
+            @Value("${wallet.cluster.node-id}") String nodeId,
+            @Value("${wallet.cluster.self-url:}") String selfUrl,
+            @Value("${wallet.cluster.members:}") String members,
+            @Value("${wallet.cluster.registry-dir:}") String registryDir,
+            @Value("${wallet.cluster.registry-ttl:6s}") Duration registryTtl) {
+        if (!registryDir.isBlank()) {
+            return new FileRegistryClusterMembership(nodeId, selfUrl, Path.of(registryDir), registryTtl);
+        }
+        return new StaticClusterMembership(nodeId, members);
+    }
+
+    @Bean
+    public ClusterRouter clusterRouter(
+            ClusterMembership clusterMembership,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.cluster.virtual-nodes:128}") int virtualNodes) {
+        Gauge.builder("wallet.cluster.members", clusterMembership, membership -> membership.members().size())
+                .description("Nodes currently in the hash ring")
+                .register(meterRegistry);
+        return new ClusterRouter(clusterMembership, virtualNodes);
+    }
+}
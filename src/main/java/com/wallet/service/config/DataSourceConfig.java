@@ -0,0 +1,64 @@
+package com.wallet.service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Separate connection pools for commands and queries. Transactions marked
+ * {@code @Transactional(readOnly = true)} take their connection from the read pool, all
+ * others from the write pool, so a burst of balance polls can exhaust only its own
+ * pool. The read pool points at the write database unless {@code wallet.datasource.read.url}
+ * names a separate one, which the read replica replicator then keeps up to date.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("wallet-write");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("wallet.datasource.read.hikari")
+    public HikariDataSource readDataSource(
+            DataSourceProperties properties,
+            @Value("${wallet.datasource.read.url:}") String url,
+            @Value("${wallet.datasource.read.username:}") String username,
+            @Value("${wallet.datasource.read.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create(properties.getClassLoader())
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url.isBlank() ? properties.determineUrl() : url)
+                .username(username.isBlank() ? properties.determineUsername() : username)
+                .password(username.isBlank() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("wallet-read");
+        return dataSource;
+    }
+
+    /**
+     * The DataSource JPA and JdbcTemplate use. Connections are fetched lazily, after the
+     * transaction has marked them read-only or not, and then taken from the matching pool.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,35 @@
+package com.wallet.service.config;
+
+import com.wallet.service.domain.event.MoneyDepositedEvent;
+import com.wallet.service.domain.event.MoneyPaidOutEvent;
+import com.wallet.service.domain.event.MoneyTransferredEvent;
+import com.wallet.service.domain.event.MoneyWithdrawnEvent;
+import com.wallet.service.domain.event.WalletCreatedEvent;
+import com.wallet.service.domain.valueobject.Money;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection hints for types Jackson binds outside of controller signatures, which
+ * AOT processing cannot infer. Domain events are (de)serialized by the event codec.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.WalletRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class WalletRuntimeHints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    WalletCreatedEvent.class,
+                    MoneyDepositedEvent.class,
+                    MoneyWithdrawnEvent.class,
+                    MoneyTransferredEvent.class,
+                    MoneyPaidOutEvent.class,
+                    Money.class);
+        }
+    }
+}
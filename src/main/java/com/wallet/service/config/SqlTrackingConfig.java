@@ -0,0 +1,54 @@
+package com.wallet.service.config;
+
+import com.wallet.service.infrastructure.jdbc.CountingDataSource;
+import com.wallet.service.presentation.interceptor.SqlBudgetInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL accounting: the DataSource is wrapped so statements and round trips
+ * can be counted, and every API handler is measured against its query budget.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wallet.sql.tracking.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTrackingConfig implements WebMvcConfigurer {
+    private final SqlBudgetInterceptor sqlBudgetInterceptor;
+
+    public SqlTrackingConfig(MeterRegistry meterRegistry) {
+        this.sqlBudgetInterceptor = new SqlBudgetInterceptor(meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the pools are wrapped; proxies routing to them would count every statement twice
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                    return new CountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlBudgetInterceptor).addPathPatterns("/api/**");
+    }
+
+    // Streaming response bodies run on the async executor and count towards their request
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(sqlBudgetInterceptor);
+    }
+}
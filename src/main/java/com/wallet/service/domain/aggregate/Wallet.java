@@ -1,6 +1,5 @@
 package com.wallet.service.domain.aggregate;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -8,10 +7,12 @@ import java.util.UUID;
 
 import com.wallet.service.domain.event.DomainEvent;
 import com.wallet.service.domain.event.MoneyDepositedEvent;
+import com.wallet.service.domain.event.MoneyPaidOutEvent;
 import com.wallet.service.domain.event.MoneyTransferredEvent;
 import com.wallet.service.domain.event.MoneyWithdrawnEvent;
 import com.wallet.service.domain.event.WalletCreatedEvent;
 import com.wallet.service.domain.exception.InsufficientFundsException;
+import com.wallet.service.domain.valueobject.Money;
 
 import lombok.Getter;
 
@@ -19,7 +20,7 @@ import lombok.Getter;
 public final class Wallet {
     private UUID id;
     private UUID userId;
-    private BigDecimal balance;
+    private Money balance;
     private int version;
     private final List<DomainEvent> uncommittedEvents = new ArrayList<>();
 
@@ -28,7 +29,7 @@ public final class Wallet {
         WalletCreatedEvent event = WalletCreatedEvent.builder()
                 .aggregateId(UUID.randomUUID())
                 .userId(userId)
-                .initialBalance(BigDecimal.ZERO)
+                .initialBalance(Money.ZERO)
                 .occurredAt(Instant.now())
                 .version(1)
                 .build();
@@ -39,16 +40,16 @@ public final class Wallet {
 
     // For event sourcing reconstruction
     public Wallet() {
-        this.balance = BigDecimal.ZERO;
+        this.balance = Money.ZERO;
         this.version = 0;
     }
 
-    public void deposit(BigDecimal amount, String transactionId) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+    public void deposit(Money amount, String transactionId) {
+        if (!amount.isPositive()) {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
 
-        BigDecimal newBalance = balance.add(amount);
+        Money newBalance = balance.plus(amount);
         
         MoneyDepositedEvent event = MoneyDepositedEvent.builder()
                 .aggregateId(id)
@@ -63,16 +64,16 @@ public final class Wallet {
         uncommittedEvents.add(event);
     }
 
-    public void withdraw(BigDecimal amount, String transactionId) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+    public void withdraw(Money amount, String transactionId) {
+        if (!amount.isPositive()) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
 
-        if (balance.compareTo(amount) < 0) {
+        if (balance.isLessThan(amount)) {
             throw new InsufficientFundsException("Insufficient funds for withdrawal");
         }
 
-        BigDecimal newBalance = balance.subtract(amount);
+        Money newBalance = balance.minus(amount);
         
         MoneyWithdrawnEvent event = MoneyWithdrawnEvent.builder()
                 .aggregateId(id)
@@ -87,16 +88,16 @@ public final class Wallet {
         uncommittedEvents.add(event);
     }
 
-    public void transferOut(UUID toWalletId, BigDecimal amount, String transactionId) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+    public void transferOut(UUID toWalletId, Money amount, String transactionId) {
+        if (!amount.isPositive()) {
             throw new IllegalArgumentException("Transfer amount must be positive");
         }
 
-        if (balance.compareTo(amount) < 0) {
+        if (balance.isLessThan(amount)) {
             throw new InsufficientFundsException("Insufficient funds for transfer");
         }
 
-        BigDecimal newBalance = balance.subtract(amount);
+        Money newBalance = balance.minus(amount);
         
         MoneyTransferredEvent event = MoneyTransferredEvent.builder()
                 .aggregateId(id)
@@ -114,8 +115,8 @@ public final class Wallet {
         uncommittedEvents.add(event);
     }
 
-    public void transferIn(UUID fromWalletId, BigDecimal amount, String transactionId) {
-        BigDecimal newBalance = balance.add(amount);
+    public void transferIn(UUID fromWalletId, Money amount, String transactionId) {
+        Money newBalance = balance.plus(amount);
         
         MoneyTransferredEvent event = MoneyTransferredEvent.builder()
                 .aggregateId(id)
@@ -133,12 +134,38 @@ public final class Wallet {
         uncommittedEvents.add(event);
     }
 
+    public void payOut(Money total, int recipientCount, String transactionId) {
+        if (!total.isPositive()) {
+            throw new IllegalArgumentException("Payout amount must be positive");
+        }
+
+        if (balance.isLessThan(total)) {
+            throw new InsufficientFundsException("Insufficient funds for payout");
+        }
+
+        Money newBalance = balance.minus(total);
+
+        MoneyPaidOutEvent event = MoneyPaidOutEvent.builder()
+                .aggregateId(id)
+                .amount(total)
+                .recipientCount(recipientCount)
+                .balanceAfter(newBalance)
+                .transactionId(transactionId)
+                .occurredAt(Instant.now())
+                .version(version + 1)
+                .build();
+
+        apply(event);
+        uncommittedEvents.add(event);
+    }
+
     public void apply(DomainEvent event) {
         switch (event) {
             case WalletCreatedEvent e -> handle(e);
             case MoneyDepositedEvent e -> handle(e);
             case MoneyWithdrawnEvent e -> handle(e);
             case MoneyTransferredEvent e -> handle(e);
+            case MoneyPaidOutEvent e -> handle(e);
             default -> {
             }
         }
@@ -166,6 +193,24 @@ public final class Wallet {
         this.version = event.getVersion();
     }
 
+    private void handle(MoneyPaidOutEvent event) {
+        this.balance = event.getBalanceAfter();
+        this.version = event.getVersion();
+    }
+
+    // Replay from stored event columns, equivalent to applying the decoded events
+    public void restoreCreated(UUID id, UUID userId, Money initialBalance, int version) {
+        this.id = id;
+        this.userId = userId;
+        this.balance = initialBalance;
+        this.version = version;
+    }
+
+    public void restoreBalance(Money balanceAfter, int version) {
+        this.balance = balanceAfter;
+        this.version = version;
+    }
+
     public void markEventsAsCommitted() {
         uncommittedEvents.clear();
     }
@@ -1,11 +1,11 @@
 package com.wallet.service.domain.event;
 
+import com.wallet.service.domain.valueobject.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -15,8 +15,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public class MoneyDepositedEvent implements DomainEvent {
     private UUID aggregateId;
-    private BigDecimal amount;
-    private BigDecimal balanceAfter;
+    private Money amount;
+    private Money balanceAfter;
     private String transactionId;
     private Instant occurredAt;
     private int version;
@@ -0,0 +1,33 @@
+package com.wallet.service.domain.event;
+
+import com.wallet.service.domain.valueobject.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Single debit of the source wallet for a whole payout; each recipient gets a
+ * MONEY_TRANSFERRED_RECEIVED event with the same transaction id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoneyPaidOutEvent implements DomainEvent {
+    private UUID aggregateId;
+    private Money amount;
+    private int recipientCount;
+    private Money balanceAfter;
+    private String transactionId;
+    private Instant occurredAt;
+    private int version;
+
+    @Override
+    public String getEventType() {
+        return "MONEY_PAID_OUT";
+    }
+}
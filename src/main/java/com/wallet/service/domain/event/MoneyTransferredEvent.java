@@ -1,11 +1,11 @@
 package com.wallet.service.domain.event;
 
+import com.wallet.service.domain.valueobject.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -17,8 +17,8 @@ public class MoneyTransferredEvent implements DomainEvent {
     private UUID aggregateId;
     private UUID fromWalletId;
     private UUID toWalletId;
-    private BigDecimal amount;
-    private BigDecimal balanceAfter;
+    private Money amount;
+    private Money balanceAfter;
     private String transactionId;
     private TransferType transferType; // SENT or RECEIVED
     private Instant occurredAt;
@@ -1,11 +1,11 @@
 package com.wallet.service.domain.event;
 
+import com.wallet.service.domain.valueobject.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -16,7 +16,7 @@ import java.util.UUID;
 public class WalletCreatedEvent implements DomainEvent {
     private UUID aggregateId;
     private UUID userId;
-    private BigDecimal initialBalance;
+    private Money initialBalance;
     private Instant occurredAt;
     private int version;
 
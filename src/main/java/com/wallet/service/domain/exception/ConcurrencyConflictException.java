@@ -0,0 +1,7 @@
+package com.wallet.service.domain.exception;
+
+public class ConcurrencyConflictException extends RuntimeException {
+    public ConcurrencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.wallet.service.domain.exception;
+
+// An unknown id is still an illegal argument to callers that do not map it to a 404
+public class NotFoundException extends IllegalArgumentException {
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
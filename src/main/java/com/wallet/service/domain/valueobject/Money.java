@@ -0,0 +1,70 @@
+package com.wallet.service.domain.valueobject;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amount held as a long count of minor units (cents) with a fixed currency
+ * scale. Arithmetic is overflow-checked. Serializes to JSON as a plain decimal number,
+ * so payloads look the same as with BigDecimal.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal amount) {
+        try {
+            return new Money(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must have at most " + SCALE
+                    + " decimal places and be within range: " + amount);
+        }
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    public Money plus(Money other) {
+        try {
+            return new Money(Math.addExact(minorUnits, other.minorUnits));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Money amount overflow");
+        }
+    }
+
+    public Money minus(Money other) {
+        try {
+            return new Money(Math.subtractExact(minorUnits, other.minorUnits));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Money amount overflow");
+        }
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
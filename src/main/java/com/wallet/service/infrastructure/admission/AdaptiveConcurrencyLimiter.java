@@ -0,0 +1,115 @@
+package com.wallet.service.infrastructure.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vegas-style adaptive concurrency limit. The limit grows while observed latency
+ * stays close to the best latency seen (no queueing) and shrinks when latency
+ * rises, which signals requests are queueing behind a slow dependency. Requests
+ * above the limit are rejected immediately instead of waiting.
+ */
+public class AdaptiveConcurrencyLimiter {
+    // Re-learn the no-load latency periodically so a permanent latency shift is not treated as queueing
+    private static final int MIN_RTT_RESET_SAMPLES = 1000;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samplesSinceReset;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit taken by {@link #tryAcquire()}.
+     *
+     * @param rttNanos time the request held the permit
+     * @param dropped  whether the request failed in a way that indicates overload
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        update(rttNanos, dropped, inFlightAtRelease);
+    }
+
+    /**
+     * Releases a permit without a latency sample, for requests whose holding time is not
+     * service time, such as a response streamed to a slow client. A drop still lowers
+     * the limit.
+     */
+    public void releaseWithoutSample(boolean dropped) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        if (dropped) {
+            update(0, true, inFlightAtRelease);
+        }
+    }
+
+    private synchronized void update(long rttNanos, boolean dropped, int inFlightAtRelease) {
+        if (++samplesSinceReset >= MIN_RTT_RESET_SAMPLES) {
+            samplesSinceReset = 0;
+            minRttNanos = Long.MAX_VALUE;
+        }
+        if (rttNanos > 0 && rttNanos < minRttNanos) {
+            minRttNanos = rttNanos;
+        }
+
+        double step = Math.max(1.0, Math.log10(estimatedLimit));
+        if (dropped) {
+            estimatedLimit -= step;
+        } else if (rttNanos > 0 && inFlightAtRelease * 2 >= estimatedLimit) {
+            // Latency samples only say something about the limit when it is actually being used
+            double queueSize = estimatedLimit * (1.0 - (double) minRttNanos / rttNanos);
+            if (queueSize <= 3 * step) {
+                estimatedLimit += step;
+            } else if (queueSize >= 6 * step) {
+                estimatedLimit -= step;
+            }
+        }
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
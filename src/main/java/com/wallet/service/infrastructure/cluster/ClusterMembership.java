@@ -0,0 +1,11 @@
+package com.wallet.service.infrastructure.cluster;
+
+import java.util.List;
+
+/**
+ * Source of the current cluster members, including this node.
+ */
+public interface ClusterMembership {
+    String selfId();
+    List<ClusterNode> members();
+}
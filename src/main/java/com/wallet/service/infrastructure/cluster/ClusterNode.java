@@ -0,0 +1,7 @@
+package com.wallet.service.infrastructure.cluster;
+
+/**
+ * A service instance: stable id used for hashing and the base URL other nodes forward to.
+ */
+public record ClusterNode(String id, String url) {
+}
@@ -0,0 +1,44 @@
+package com.wallet.service.infrastructure.cluster;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Decides which node owns a wallet. The ring is rebuilt whenever membership changes.
+ */
+public class ClusterRouter {
+    private final ClusterMembership membership;
+    private final int virtualNodes;
+    private volatile Snapshot snapshot;
+
+    public ClusterRouter(ClusterMembership membership, int virtualNodes) {
+        this.membership = membership;
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * The owning node when it is another instance; empty when this node owns the
+     * wallet or no membership is known yet.
+     */
+    public Optional<ClusterNode> remoteOwnerOf(UUID walletId) {
+        List<ClusterNode> members = membership.members();
+        if (members.isEmpty()) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        if (current == null || !current.members().equals(members)) {
+            current = new Snapshot(members, new ConsistentHashRing(members, virtualNodes));
+            snapshot = current;
+        }
+        ClusterNode owner = current.ring().ownerOf(walletId);
+        return owner.id().equals(membership.selfId()) ? Optional.empty() : Optional.of(owner);
+    }
+
+    public String selfId() {
+        return membership.selfId();
+    }
+
+    private record Snapshot(List<ClusterNode> members, ConsistentHashRing ring) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.wallet.service.infrastructure.cluster;
+
+import com.wallet.service.infrastructure.hashing.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Immutable consistent-hash ring over cluster nodes. Each node is placed at many
+ * virtual points so wallet ids spread evenly; when a node joins or leaves only the
+ * wallets in its ranges change owner.
+ */
+public final class ConsistentHashRing {
+    private final NavigableMap<Long, ClusterNode> ring = new TreeMap<>();
+    private final Set<ClusterNode> nodes;
+
+    public ConsistentHashRing(Collection<ClusterNode> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        this.nodes = Set.copyOf(new LinkedHashSet<>(nodes));
+        for (ClusterNode node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node.id() + "#" + i), node);
+            }
+        }
+    }
+
+    public ClusterNode ownerOf(UUID walletId) {
+        long point = Hashing.mix64(walletId.getMostSignificantBits() ^ Hashing.mix64(walletId.getLeastSignificantBits()));
+        Map.Entry<Long, ClusterNode> entry = ring.ceilingEntry(point);
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public Set<ClusterNode> getNodes() {
+        return nodes;
+    }
+
+    // FNV-1a over the bytes, then a finalizer so nearby ids land far apart on the ring
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return Hashing.mix64(hash);
+    }
+}
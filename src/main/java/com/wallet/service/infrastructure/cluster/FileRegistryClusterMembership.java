@@ -0,0 +1,115 @@
+package com.wallet.service.infrastructure.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Membership through a shared local directory: every node keeps a heartbeat file
+ * named after its id containing its URL. Nodes whose file is missing or older than
+ * the TTL are not members. Members are listed in id order, whatever order the
+ * directory lists the files in. Meant for running several instances on one host.
+ */
+@Slf4j
+public class FileRegistryClusterMembership implements ClusterMembership {
+    private static final String SUFFIX = ".node";
+
+    private final String selfId;
+    private final Path directory;
+    private final Duration ttl;
+    private volatile String selfUrl;
+    private volatile List<ClusterNode> members = List.of();
+
+    public FileRegistryClusterMembership(String selfId, String selfUrl, Path directory, Duration ttl) {
+        this.selfId = selfId;
+        this.selfUrl = selfUrl;
+        this.directory = directory;
+        this.ttl = ttl;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create cluster registry directory " + directory, e);
+        }
+    }
+
+    @Override
+    public String selfId() {
+        return selfId;
+    }
+
+    @Override
+    public List<ClusterNode> members() {
+        return members;
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (selfUrl == null || selfUrl.isBlank()) {
+            selfUrl = "http://localhost:" + event.getWebServer().getPort();
+        }
+        heartbeat();
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.cluster.heartbeat-interval:2s}")
+    public void heartbeat() {
+        if (selfUrl == null || selfUrl.isBlank()) {
+            return;
+        }
+        try {
+            Path file = directory.resolve(selfId + SUFFIX);
+            Files.writeString(file, selfUrl, StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            refresh();
+        } catch (IOException e) {
+            log.warn("Cluster heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void leave() {
+        try {
+            Files.deleteIfExists(directory.resolve(selfId + SUFFIX));
+        } catch (IOException e) {
+            log.warn("Could not remove cluster registration: {}", e.getMessage());
+        }
+    }
+
+    private void refresh() throws IOException {
+        Instant cutoff = Instant.now().minus(ttl);
+        List<ClusterNode> live = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(SUFFIX)).toList()) {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isAfter(cutoff)) {
+                        String name = file.getFileName().toString();
+                        live.add(new ClusterNode(name.substring(0, name.length() - SUFFIX.length()),
+                                Files.readString(file, StandardCharsets.UTF_8).trim()));
+                    }
+                } catch (IOException e) {
+                    // The node left between listing and reading
+                }
+            }
+        }
+        // Directory listing order is unspecified; sort so an unchanged membership compares equal
+        live.sort(Comparator.comparing(ClusterNode::id));
+        if (!live.equals(members)) {
+            log.info("Cluster membership changed: {}", live);
+        }
+        members = List.copyOf(live);
+    }
+}
@@ -0,0 +1,43 @@
+package com.wallet.service.infrastructure.cluster;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed membership from configuration, e.g.
+ * {@code wallet.cluster.members=node-a=http://localhost:8081,node-b=http://localhost:8082}.
+ */
+public class StaticClusterMembership implements ClusterMembership {
+    private final String selfId;
+    private final List<ClusterNode> members;
+
+    public StaticClusterMembership(String selfId, String members) {
+        this.selfId = selfId;
+        this.members = Arrays.stream(members.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .map(StaticClusterMembership::parse)
+                .toList();
+        if (this.members.stream().noneMatch(node -> node.id().equals(selfId))) {
+            throw new IllegalArgumentException("Cluster members must include this node: " + selfId);
+        }
+    }
+
+    @Override
+    public String selfId() {
+        return selfId;
+    }
+
+    @Override
+    public List<ClusterNode> members() {
+        return members;
+    }
+
+    private static ClusterNode parse(String entry) {
+        int separator = entry.indexOf('=');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Cluster member must be id=url: " + entry);
+        }
+        return new ClusterNode(entry.substring(0, separator), entry.substring(separator + 1));
+    }
+}
@@ -0,0 +1,117 @@
+package com.wallet.service.infrastructure.eventstore;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.domain.event.DomainEvent;
+import com.wallet.service.domain.event.MoneyDepositedEvent;
+import com.wallet.service.domain.event.MoneyPaidOutEvent;
+import com.wallet.service.domain.event.MoneyTransferredEvent;
+import com.wallet.service.domain.event.MoneyWithdrawnEvent;
+import com.wallet.service.domain.event.WalletCreatedEvent;
+import com.wallet.service.infrastructure.jfr.EventSerializationEvent;
+import com.wallet.service.infrastructure.persistence.EventEntity;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maps domain events to event rows and back. Besides the JSON payload, the fields
+ * needed for replay are written to typed columns so rehydration can skip decoding.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventCodec {
+    private final ObjectMapper objectMapper;
+
+    public EventEntity encode(DomainEvent event, String aggregateType) {
+        EventEntity.EventEntityBuilder builder = EventEntity.builder()
+                .aggregateId(event.getAggregateId())
+                .aggregateType(aggregateType)
+                .eventType(event.getEventType())
+                .version(event.getVersion())
+                .eventData(serialize(event))
+                .occurredAt(event.getOccurredAt())
+                .createdAt(Instant.now());
+
+        switch (event) {
+            case WalletCreatedEvent e -> builder
+                    .userId(e.getUserId())
+                    .balanceAfter(e.getInitialBalance());
+            case MoneyDepositedEvent e -> builder
+                    .amount(e.getAmount())
+                    .balanceAfter(e.getBalanceAfter())
+                    .transactionId(e.getTransactionId());
+            case MoneyWithdrawnEvent e -> builder
+                    .amount(e.getAmount())
+                    .balanceAfter(e.getBalanceAfter())
+                    .transactionId(e.getTransactionId());
+            case MoneyTransferredEvent e -> builder
+                    .amount(e.getAmount())
+                    .balanceAfter(e.getBalanceAfter())
+                    .transactionId(e.getTransactionId());
+            case MoneyPaidOutEvent e -> builder
+                    .amount(e.getAmount())
+                    .balanceAfter(e.getBalanceAfter())
+                    .transactionId(e.getTransactionId());
+            default -> {
+            }
+        }
+        return builder.build();
+    }
+
+    public DomainEvent decode(EventEntity entity) {
+        return decode(entity.getEventType(), entity.getEventData());
+    }
+
+    public DomainEvent decode(String eventType, String eventData) {
+        Class<?> eventClass = getEventClass(eventType);
+        EventSerializationEvent serialization = new EventSerializationEvent();
+        serialization.begin();
+        try {
+            // Payloads carry derived properties such as eventType that have no setter
+            DomainEvent event = (DomainEvent) objectMapper.readerFor(eventClass)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(eventData);
+            serialization.finish(EventSerializationEvent.DECODE, eventType, eventData);
+            return event;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to deserialize event", e);
+        }
+    }
+
+    private String serialize(DomainEvent event) {
+        EventSerializationEvent serialization = new EventSerializationEvent();
+        serialization.begin();
+        try {
+            String eventData = objectMapper.writeValueAsString(event);
+            serialization.finish(EventSerializationEvent.ENCODE, event.getEventType(), eventData);
+            return eventData;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize event", e);
+        }
+    }
+
+    private Class<?> getEventClass(String eventType) {
+        switch (eventType) {
+            case "WALLET_CREATED" -> {
+                return WalletCreatedEvent.class;
+            }
+            case "MONEY_DEPOSITED" -> {
+                return MoneyDepositedEvent.class;
+            }
+            case "MONEY_WITHDRAWN" -> {
+                return MoneyWithdrawnEvent.class;
+            }
+            case "MONEY_TRANSFERRED_SENT", "MONEY_TRANSFERRED_RECEIVED" -> {
+                return MoneyTransferredEvent.class;
+            }
+            case "MONEY_PAID_OUT" -> {
+                return MoneyPaidOutEvent.class;
+            }
+            default -> throw new IllegalArgumentException("Unknown event type: " + eventType);
+        }
+    }
+}
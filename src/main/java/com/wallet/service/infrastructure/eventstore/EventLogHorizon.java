@@ -0,0 +1,58 @@
+package com.wallet.service.infrastructure.eventstore;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * The position up to which the event log is complete, for readers that keep a
+ * position cursor. Positions are taken at insert but become visible at commit, so a
+ * hole in the sequence is either a transaction that is still open or one that rolled
+ * back. A hole counts as open while the event after it is younger than the gap
+ * timeout, and the horizon is the last position before the first open hole. A cursor
+ * that never passes the horizon never skips an event that commits late.
+ */
+public class EventLogHorizon {
+    // Only rows right after a hole come back, so this stays small however far it scans
+    private static final String HOLES_SQL = """
+            select position, previous, created_at
+            from (select position, created_at, lag(position) over (order by position) as previous
+                  from events
+                  where position > ?) positions
+            where position <> coalesce(previous, ?) + 1
+            order by position
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration gapTimeout;
+
+    public EventLogHorizon(JdbcTemplate jdbcTemplate, Duration gapTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.gapTimeout = gapTimeout;
+    }
+
+    /**
+     * The highest position after {@code afterPosition} with no open hole before it,
+     * or {@code afterPosition} itself when the next position is still missing.
+     */
+    public long settledPosition(long afterPosition) {
+        OffsetDateTime cutoff = Instant.now().minus(gapTimeout).atOffset(ZoneOffset.UTC);
+        Long openHoleEnd = jdbcTemplate.query(HOLES_SQL, rs -> {
+            while (rs.next()) {
+                if (rs.getObject(3, OffsetDateTime.class).isAfter(cutoff)) {
+                    long previous = rs.getLong(2);
+                    return rs.wasNull() ? afterPosition : previous;
+                }
+            }
+            return null;
+        }, afterPosition, afterPosition);
+        if (openHoleEnd != null) {
+            return openHoleEnd;
+        }
+        return jdbcTemplate.queryForObject("select coalesce(max(position), ?) from events where position > ?",
+                Long.class, afterPosition, afterPosition);
+    }
+}
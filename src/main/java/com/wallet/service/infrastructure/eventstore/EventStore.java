@@ -1,6 +1,7 @@
 package com.wallet.service.infrastructure.eventstore;
 
 import com.wallet.service.domain.event.DomainEvent;
+import com.wallet.service.infrastructure.persistence.EventRecord;
 
 import java.time.Instant;
 import java.util.List;
@@ -10,4 +11,10 @@ public interface EventStore {
     void save(List<DomainEvent> events, String aggregateType);
     List<DomainEvent> getEvents(UUID aggregateId);
     List<DomainEvent> getEventsUntil(UUID aggregateId, Instant timestamp);
-} 
\ No newline at end of file
+
+    // Replay variants: typed columns only, the JSON payload is not read
+    List<EventRecord> getEventRecords(UUID aggregateId);
+    List<EventRecord> getEventRecordsUntil(UUID aggregateId, Instant timestamp);
+    List<EventRecord> getEventRecordsByTransactionId(String transactionId);
+    List<EventRecord> getEventRecordsAfter(UUID aggregateId, int afterVersion, int limit);
+}
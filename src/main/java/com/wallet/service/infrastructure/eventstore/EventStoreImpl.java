@@ -5,16 +5,15 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wallet.service.domain.event.DomainEvent;
-import com.wallet.service.domain.event.MoneyDepositedEvent;
-import com.wallet.service.domain.event.MoneyTransferredEvent;
-import com.wallet.service.domain.event.MoneyWithdrawnEvent;
-import com.wallet.service.domain.event.WalletCreatedEvent;
+import com.wallet.service.infrastructure.jfr.EventAppendEvent;
+import com.wallet.service.infrastructure.jfr.TransactionCommitEvent;
 import com.wallet.service.infrastructure.persistence.EventEntity;
+import com.wallet.service.infrastructure.persistence.EventRecord;
 import com.wallet.service.infrastructure.persistence.EventRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -25,24 +24,20 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class EventStoreImpl implements EventStore {
     private final EventRepository eventRepository;
-    private final ObjectMapper objectMapper;
+    private final EventCodec eventCodec;
 
     @Override
     @Transactional
     public void save(List<DomainEvent> events, String aggregateType) {
+        EventAppendEvent append = new EventAppendEvent();
+        append.begin();
         List<EventEntity> entities = events.stream()
-                .map(event -> EventEntity.builder()
-                        .aggregateId(event.getAggregateId())
-                        .aggregateType(aggregateType)
-                        .eventType(event.getEventType())
-                        .version(event.getVersion())
-                        .eventData(serialize(event))
-                        .occurredAt(event.getOccurredAt())
-                        .createdAt(Instant.now())
-                        .build())
+                .map(event -> eventCodec.encode(event, aggregateType))
                 .collect(Collectors.toList());
 
         eventRepository.saveAll(entities);
+        append.finish(aggregateType, entities);
+        TransactionCommitEvent.track(entities.size());
         log.info("Saved {} events for aggregate type {}", events.size(), aggregateType);
     }
 
@@ -51,7 +46,7 @@ public class EventStoreImpl implements EventStore {
     public List<DomainEvent> getEvents(UUID aggregateId) {
         return eventRepository.findByAggregateIdOrderByVersionAsc(aggregateId)
                 .stream()
-                .map(this::deserialize)
+                .map(eventCodec::decode)
                 .collect(Collectors.toList());
     }
 
@@ -60,42 +55,31 @@ public class EventStoreImpl implements EventStore {
     public List<DomainEvent> getEventsUntil(UUID aggregateId, Instant timestamp) {
         return eventRepository.findByAggregateIdAndOccurredAtLessThanEqualOrderByVersionAsc(aggregateId, timestamp)
                 .stream()
-                .map(this::deserialize)
+                .map(eventCodec::decode)
                 .collect(Collectors.toList());
     }
 
-    private String serialize(DomainEvent event) {
-        try {
-            return objectMapper.writeValueAsString(event);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to serialize event", e);
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventRecord> getEventRecords(UUID aggregateId) {
+        return eventRepository.findRecordsByAggregateId(aggregateId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventRecord> getEventRecordsUntil(UUID aggregateId, Instant timestamp) {
+        return eventRepository.findRecordsByAggregateIdUntil(aggregateId, timestamp);
     }
 
-    private DomainEvent deserialize(EventEntity entity) {
-        try {
-            Class<?> eventClass = getEventClass(entity.getEventType());
-            return (DomainEvent) objectMapper.readValue(entity.getEventData(), eventClass);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to deserialize event", e);
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventRecord> getEventRecordsByTransactionId(String transactionId) {
+        return eventRepository.findRecordsByTransactionId(transactionId);
     }
 
-    private Class<?> getEventClass(String eventType) {
-        switch (eventType) {
-            case "WALLET_CREATED" -> {
-                return WalletCreatedEvent.class;
-            }
-            case "MONEY_DEPOSITED" -> {
-                return MoneyDepositedEvent.class;
-            }
-            case "MONEY_WITHDRAWN" -> {
-                return MoneyWithdrawnEvent.class;
-            }
-            case "MONEY_TRANSFERRED_SENT", "MONEY_TRANSFERRED_RECEIVED" -> {
-                return MoneyTransferredEvent.class;
-            }
-            default -> throw new IllegalArgumentException("Unknown event type: " + eventType);
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventRecord> getEventRecordsAfter(UUID aggregateId, int afterVersion, int limit) {
+        return eventRepository.findRecordsByAggregateIdAfterVersion(aggregateId, afterVersion, Limit.of(limit));
     }
-} 
\ No newline at end of file
+}
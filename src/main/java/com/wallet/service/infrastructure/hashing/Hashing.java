@@ -0,0 +1,24 @@
+package com.wallet.service.infrastructure.hashing;
+
+/**
+ * Hash helpers for the in-memory structures keyed by wallet and user ids: sketches,
+ * filters, open-addressing maps and the cluster ring.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * The MurmurHash3 64-bit finalizer (fmix64). Every input bit affects every output
+     * bit, so the low bits of the result are safe to use as a table index.
+     */
+    public static long mix64(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,97 @@
+package com.wallet.service.infrastructure.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the application's DataSource so that every statement execution, batch and
+ * commit is reported to {@link SqlRoundTrips}. Connections and statements are JDK
+ * proxies over the pooled ones, so JPA, Spring Data and JdbcTemplate are all covered.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    public CountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            default -> {
+            }
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "createStatement", "prepareStatement", "prepareCall" -> {
+                    Statement statement = (Statement) CountingDataSource.invoke(target, proxy, method, args);
+                    return proxy(method.getReturnType().asSubclass(Statement.class), new StatementHandler(statement));
+                }
+                case "commit", "rollback" -> SqlRoundTrips.record(0, 1);
+                default -> {
+                }
+            }
+            return CountingDataSource.invoke(target, proxy, method, args);
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private int pendingBatch;
+
+        private StatementHandler(Statement target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "execute", "executeQuery", "executeUpdate", "executeLargeUpdate" -> SqlRoundTrips.record(1, 1);
+                case "addBatch" -> pendingBatch++;
+                case "clearBatch" -> pendingBatch = 0;
+                case "executeBatch", "executeLargeBatch" -> {
+                    SqlRoundTrips.record(pendingBatch, 1);
+                    pendingBatch = 0;
+                }
+                default -> {
+                }
+            }
+            return CountingDataSource.invoke(target, proxy, method, args);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.wallet.service.infrastructure.jdbc;
+
+/**
+ * Per-thread tally of the SQL sent through {@link CountingDataSource}. A statement is
+ * one SQL command; a round trip is one call that waits on the database, so a JDBC
+ * batch of fifty inserts is fifty statements but one round trip, and a commit is a
+ * round trip without a statement. Nothing is counted unless a tally is open.
+ *
+ * <pre>
+ * try (SqlRoundTrips.Tally tally = SqlRoundTrips.start()) {
+ *     commandHandler.handle(command);
+ *     assertEquals(4, tally.roundTrips());
+ * }
+ * </pre>
+ */
+public final class SqlRoundTrips {
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    private SqlRoundTrips() {
+    }
+
+    /**
+     * Opens a tally on this thread. Tallies nest; what an inner tally counts is also
+     * added to the enclosing one when it is closed.
+     */
+    public static Tally start() {
+        return startWithin(CURRENT.get());
+    }
+
+    /**
+     * Opens a tally on this thread that adds to {@code parent} when closed, for work a
+     * request continues on another thread, such as writing a streaming response.
+     */
+    public static Tally startWithin(Tally parent) {
+        Tally tally = new Tally(parent, CURRENT.get());
+        CURRENT.set(tally);
+        return tally;
+    }
+
+    static void record(int statements, int roundTrips) {
+        Tally tally = CURRENT.get();
+        if (tally != null) {
+            tally.statements += statements;
+            tally.roundTrips += roundTrips;
+        }
+    }
+
+    public static final class Tally implements AutoCloseable {
+        private final Tally parent;
+        private final Tally previous;
+        private int statements;
+        private int roundTrips;
+        private boolean closed;
+
+        private Tally(Tally parent, Tally previous) {
+            this.parent = parent;
+            this.previous = previous;
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public int roundTrips() {
+            return roundTrips;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent != null) {
+                parent.statements += statements;
+                parent.roundTrips += roundTrips;
+            }
+            if (CURRENT.get() == this) {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return statements + " statements in " + roundTrips + " round trips";
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.wallet.service.infrastructure.jfr;
+
+import com.wallet.service.infrastructure.persistence.EventEntity;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Name("com.wallet.EventAppend")
+@Label("Event Append")
+@Category("Wallet Service")
+@Description("Encoding new events and handing them to the event log; "
+        + "the inserts are flushed at commit, see Transaction Commit")
+@Enabled(false)
+@StackTrace(false)
+public class EventAppendEvent extends jdk.jfr.Event {
+    @Label("Aggregate Type")
+    private String aggregateType;
+
+    @Label("Event Count")
+    private int eventCount;
+
+    @Label("Payload Size")
+    @DataAmount
+    private long bytes;
+
+    public void finish(String aggregateType, List<EventEntity> entities) {
+        end();
+        if (shouldCommit()) {
+            this.aggregateType = aggregateType;
+            this.eventCount = entities.size();
+            for (EventEntity entity : entities) {
+                bytes += entity.getEventData().getBytes(StandardCharsets.UTF_8).length;
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.wallet.service.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+
+@Name("com.wallet.EventSerialization")
+@Label("Event Serialization")
+@Category("Wallet Service")
+@Description("Encoding a domain event to its JSON payload, or decoding it back")
+@Enabled(false)
+@StackTrace(false)
+public class EventSerializationEvent extends jdk.jfr.Event {
+    public static final String ENCODE = "encode";
+    public static final String DECODE = "decode";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Event Type")
+    private String eventType;
+
+    @Label("Payload Size")
+    @DataAmount
+    private long bytes;
+
+    public void finish(String operation, String eventType, String payload) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.eventType = eventType;
+            this.bytes = payload == null ? 0 : payload.getBytes(StandardCharsets.UTF_8).length;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.wallet.service.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+@Name("com.wallet.ProjectionWrite")
+@Label("Projection Write")
+@Category("Wallet Service")
+@Description("Writing wallet projections or daily turnover rollups for new events")
+@Enabled(false)
+@StackTrace(false)
+public class ProjectionWriteEvent extends jdk.jfr.Event {
+    public static final String WALLET = "wallet_projections";
+    public static final String DAILY_TURNOVER = "wallet_daily_rollups";
+
+    @Label("Projection")
+    private String projection;
+
+    @Label("Wallet Id")
+    @Description("Set when a single wallet projection was written")
+    private String walletId;
+
+    @Label("Rows")
+    private int rows;
+
+    @Label("Version Conflict")
+    private boolean conflict;
+
+    public void finish(String projection, UUID walletId, int rows, boolean conflict) {
+        end();
+        if (shouldCommit()) {
+            this.projection = projection;
+            this.walletId = walletId == null ? null : walletId.toString();
+            this.rows = rows;
+            this.conflict = conflict;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.wallet.service.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Name("com.wallet.Commit")
+@Label("Transaction Commit")
+@Category("Wallet Service")
+@Description("Commit of a transaction that appended events, including the flush of pending inserts")
+@Enabled(false)
+@StackTrace(false)
+public class TransactionCommitEvent extends jdk.jfr.Event {
+    @Label("Appended Events")
+    private int eventCount;
+
+    @Label("Committed")
+    @Description("False when the transaction rolled back")
+    private boolean committed;
+
+    /**
+     * Times the commit of the current transaction, adding {@code appendedEvents} to the
+     * count when the transaction is already tracked. Does nothing when the event is disabled.
+     */
+    public static void track(int appendedEvents) {
+        TransactionCommitEvent event = new TransactionCommitEvent();
+        if (!event.isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // Synchronizations are suspended with their transaction, so this only finds the current one
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Tracker tracker) {
+                tracker.event.eventCount += appendedEvents;
+                return;
+            }
+        }
+        event.eventCount = appendedEvents;
+        TransactionSynchronizationManager.registerSynchronization(new Tracker(event));
+    }
+
+    private static final class Tracker implements TransactionSynchronization {
+        private final TransactionCommitEvent event;
+        private boolean started;
+
+        private Tracker(TransactionCommitEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            event.begin();
+            started = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            // A rollback before commit was attempted is recorded with no duration
+            if (!started) {
+                event.begin();
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.committed = status == STATUS_COMMITTED;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.wallet.service.infrastructure.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Continuous flight recording with the JDK's default settings plus the wallet events
+ * from {@code jfr/wallet.jfc}. Old data is dropped past the max age or size, and the
+ * recording is written to the destination on shutdown; {@code jcmd <pid> JFR.dump name=wallet}
+ * writes it on demand.
+ */
+@Component
+@ConditionalOnProperty(name = "wallet.jfr.enabled", havingValue = "true")
+@Slf4j
+public class WalletFlightRecorder implements DisposableBean {
+    private static final String SETTINGS = "jfr/wallet.jfc";
+
+    private final Recording recording;
+
+    public WalletFlightRecorder(
+            @Value("${wallet.jfr.destination:wallet.jfr}") Path destination,
+            @Value("${wallet.jfr.max-age:6h}") Duration maxAge,
+            @Value("${wallet.jfr.max-size:250MB}") DataSize maxSize) throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(new ClassPathResource(SETTINGS).getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+
+        recording = new Recording(settings);
+        recording.setName("wallet");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.start();
+        log.info("Started flight recording to {} (max age {}, max size {})", destination, maxAge, maxSize);
+    }
+
+    @Override
+    public void destroy() {
+        // Stopping writes the recording to its destination, unless the JVM's dump-on-exit hook already did
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+    }
+}
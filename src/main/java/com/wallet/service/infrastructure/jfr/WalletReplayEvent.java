@@ -0,0 +1,37 @@
+package com.wallet.service.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+@Name("com.wallet.Replay")
+@Label("Wallet Replay")
+@Category("Wallet Service")
+@Description("Loading a wallet's event records and folding them into its state")
+@Enabled(false)
+@StackTrace(false)
+public class WalletReplayEvent extends jdk.jfr.Event {
+    @Label("Wallet Id")
+    private String walletId;
+
+    @Label("Event Count")
+    private int eventCount;
+
+    @Label("Point In Time")
+    private boolean pointInTime;
+
+    public void finish(UUID walletId, int eventCount, boolean pointInTime) {
+        end();
+        if (shouldCommit()) {
+            this.walletId = walletId.toString();
+            this.eventCount = eventCount;
+            this.pointInTime = pointInTime;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.wallet.service.infrastructure.partitioning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Creates the monthly partitions of a PostgreSQL events table partitioned by
+ * occurred_at (see {@code db/postgres/events-partitioned.sql}). The current month
+ * and the next {@code wallet.events.partitioning.months-ahead} months always exist,
+ * so inserts never wait for a partition at rollover. Partitions are never dropped:
+ * replay needs the whole event log.
+ *
+ * <p>While a month has no partition its events land in {@code events_default}, for
+ * example history loaded before partitioning, an import of old events, or a rollover
+ * while the service was down. Every month the default partition holds rows of gets
+ * its own partition too, so time-bounded queries on old events are pruned like recent
+ * ones. PostgreSQL refuses to create a partition for a range the default partition
+ * already holds rows of, so those rows are moved into the new partition in the same
+ * transaction that attaches it.
+ */
+@Component
+@ConditionalOnProperty(name = "wallet.events.partitioning.enabled", havingValue = "true")
+@Slf4j
+public class EventPartitionMaintainer {
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String PARTITIONS_SQL = """
+            select child.relname
+            from pg_inherits
+            join pg_class parent on parent.oid = pg_inherits.inhparent
+            join pg_class child on child.oid = pg_inherits.inhrelid
+            where parent.relname = 'events'
+            """;
+    private static final String DEFAULT_MONTHS_SQL =
+            "select distinct to_char(occurred_at at time zone 'UTC', 'YYYY-MM') from events_default";
+    private static final String DEFAULT_HOLDS_MONTH_SQL =
+            "select exists (select 1 from events_default where occurred_at >= ?::timestamptz and occurred_at < ?::timestamptz)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+
+    public EventPartitionMaintainer(
+            DataSource dataSource,
+            @Value("${wallet.events.partitioning.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.monthsAhead = monthsAhead;
+
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            throw new IllegalStateException("Event partitioning requires PostgreSQL, but the database is " + product);
+        }
+        createPartitions();
+    }
+
+    /**
+     * Creates any missing partition from the current month on, and one for every month
+     * still held by the default partition, and returns how many were created.
+     */
+    @Scheduled(cron = "${wallet.events.partitioning.cron:0 0 1 * * *}", zone = "UTC")
+    public synchronized int createPartitions() {
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(PARTITIONS_SQL, String.class));
+        List<YearMonth> inDefault = jdbcTemplate.queryForList(DEFAULT_MONTHS_SQL, String.class).stream()
+                .map(YearMonth::parse)
+                .toList();
+        List<YearMonth> missing = missingPartitions(YearMonth.now(ZoneOffset.UTC), monthsAhead, inDefault, existing);
+        for (YearMonth month : missing) {
+            transactionTemplate.executeWithoutResult(status -> createPartition(month));
+        }
+        return missing.size();
+    }
+
+    private void createPartition(YearMonth month) {
+        // Inserts routed to the default partition wait until the new partition is in place
+        jdbcTemplate.execute("lock table events_default in share row exclusive mode");
+        String from = lowerBound(month);
+        String to = lowerBound(month.plusMonths(1));
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(DEFAULT_HOLDS_MONTH_SQL, Boolean.class, from, to))) {
+            jdbcTemplate.execute(createPartitionSql(month));
+            log.info("Created event partition {}", partitionName(month));
+            return;
+        }
+        for (String sql : movePartitionSql(month)) {
+            jdbcTemplate.execute(sql);
+        }
+        log.warn("Created event partition {} and moved its events out of events_default", partitionName(month));
+    }
+
+    static List<YearMonth> missingPartitions(YearMonth current, int monthsAhead, Collection<YearMonth> inDefault,
+                                             Set<String> existing) {
+        SortedSet<YearMonth> months = new TreeSet<>(inDefault);
+        for (int i = 0; i <= monthsAhead; i++) {
+            months.add(current.plusMonths(i));
+        }
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month : months) {
+            if (!existing.contains(partitionName(month))) {
+                missing.add(month);
+            }
+        }
+        return missing;
+    }
+
+    static String partitionName(YearMonth month) {
+        return "events_" + month.format(SUFFIX);
+    }
+
+    static String createPartitionSql(YearMonth month) {
+        return "create table if not exists " + partitionName(month) + " partition of events"
+                + " for values from ('" + lowerBound(month) + "') to ('" + lowerBound(month.plusMonths(1)) + "')";
+    }
+
+    // Filled as a plain table, so the event_keys trigger does not claim the moved rows again
+    static List<String> movePartitionSql(YearMonth month) {
+        String name = partitionName(month);
+        String range = "occurred_at >= '" + lowerBound(month) + "' and occurred_at < '" + lowerBound(month.plusMonths(1)) + "'";
+        return List.of(
+                "create table " + name + " (like events including defaults)",
+                "insert into " + name + " select * from events_default where " + range,
+                "delete from events_default where " + range,
+                "alter table events attach partition " + name
+                        + " for values from ('" + lowerBound(month) + "') to ('" + lowerBound(month.plusMonths(1)) + "')");
+    }
+
+    private static String lowerBound(YearMonth month) {
+        return month.atDay(1) + " 00:00:00+00";
+    }
+}
@@ -1,5 +1,6 @@
 package com.wallet.service.infrastructure.persistence;
 
+import com.wallet.service.domain.valueobject.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,8 +12,13 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "events", indexes = {
-    @Index(name = "idx_aggregate_id", columnList = "aggregateId"),
-    @Index(name = "idx_occurred_at", columnList = "occurredAt")
+    // Serves stream reads by aggregate and rejects duplicate versions from concurrent writers
+    @Index(name = "uk_aggregate_version", columnList = "aggregateId, version", unique = true),
+    // Point-in-time reads seek to the wallet and stop at the cutoff instead of filtering its whole stream
+    @Index(name = "idx_aggregate_occurred_at", columnList = "aggregateId, occurredAt"),
+    @Index(name = "idx_occurred_at", columnList = "occurredAt"),
+    @Index(name = "idx_transaction_id", columnList = "transactionId"),
+    @Index(name = "uk_position", columnList = "position", unique = true)
 })
 @Data
 @Builder
@@ -23,6 +29,10 @@ public class EventEntity {
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
     
+    // Global append order, assigned by the database; used by exports to resume
+    @Column(insertable = false, updatable = false, columnDefinition = "bigint generated by default as identity")
+    private Long position;
+
     @Column(nullable = false)
     private UUID aggregateId;
     
@@ -35,6 +45,18 @@ public class EventEntity {
     @Column(nullable = false)
     private int version;
     
+    // Typed copies of the payload fields needed for replay, so rehydration
+    // does not have to decode eventData
+    private UUID userId;
+
+    @Column(name = "amount_minor")
+    private Money amount;
+
+    @Column(name = "balance_after_minor")
+    private Money balanceAfter;
+
+    private String transactionId;
+    
     @Column(columnDefinition = "TEXT", nullable = false)
     private String eventData;
     
@@ -0,0 +1,20 @@
+package com.wallet.service.infrastructure.persistence;
+
+import com.wallet.service.domain.valueobject.Money;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Typed columns of a stored event, loaded without its JSON payload.
+ */
+public record EventRecord(
+        UUID aggregateId,
+        String eventType,
+        int version,
+        UUID userId,
+        Money amount,
+        Money balanceAfter,
+        String transactionId,
+        Instant occurredAt) {
+}
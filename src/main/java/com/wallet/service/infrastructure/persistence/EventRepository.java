@@ -1,6 +1,9 @@
 package com.wallet.service.infrastructure.persistence;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
@@ -13,4 +16,47 @@ public interface EventRepository extends JpaRepository<EventEntity, UUID> {
     
     List<EventEntity> findByAggregateIdAndOccurredAtLessThanEqualOrderByVersionAsc(
             UUID aggregateId, Instant timestamp);
-} 
\ No newline at end of file
+
+    @Query("""
+            select new com.wallet.service.infrastructure.persistence.EventRecord(
+                e.aggregateId, e.eventType, e.version, e.userId, e.amount, e.balanceAfter,
+                e.transactionId, e.occurredAt)
+            from EventEntity e
+            where e.aggregateId = :aggregateId
+            order by e.version asc
+            """)
+    List<EventRecord> findRecordsByAggregateId(@Param("aggregateId") UUID aggregateId);
+
+    @Query("""
+            select new com.wallet.service.infrastructure.persistence.EventRecord(
+                e.aggregateId, e.eventType, e.version, e.userId, e.amount, e.balanceAfter,
+                e.transactionId, e.occurredAt)
+            from EventEntity e
+            where e.aggregateId = :aggregateId and e.occurredAt <= :timestamp
+            order by e.version asc
+            """)
+    List<EventRecord> findRecordsByAggregateIdUntil(
+            @Param("aggregateId") UUID aggregateId, @Param("timestamp") Instant timestamp);
+
+    @Query("""
+            select new com.wallet.service.infrastructure.persistence.EventRecord(
+                e.aggregateId, e.eventType, e.version, e.userId, e.amount, e.balanceAfter,
+                e.transactionId, e.occurredAt)
+            from EventEntity e
+            where e.transactionId = :transactionId
+            order by e.occurredAt asc, e.aggregateId asc
+            """)
+    List<EventRecord> findRecordsByTransactionId(@Param("transactionId") String transactionId);
+
+    // Range scan of uk_aggregate_version, for clients syncing a wallet's events incrementally
+    @Query("""
+            select new com.wallet.service.infrastructure.persistence.EventRecord(
+                e.aggregateId, e.eventType, e.version, e.userId, e.amount, e.balanceAfter,
+                e.transactionId, e.occurredAt)
+            from EventEntity e
+            where e.aggregateId = :aggregateId and e.version > :afterVersion
+            order by e.version asc
+            """)
+    List<EventRecord> findRecordsByAggregateIdAfterVersion(
+            @Param("aggregateId") UUID aggregateId, @Param("afterVersion") int afterVersion, Limit limit);
+}
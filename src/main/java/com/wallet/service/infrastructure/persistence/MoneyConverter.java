@@ -0,0 +1,22 @@
+package com.wallet.service.infrastructure.persistence;
+
+import com.wallet.service.domain.valueobject.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link Money} as a BIGINT of minor units.
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.minorUnits();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(Long minorUnits) {
+        return minorUnits == null ? null : Money.ofMinor(minorUnits);
+    }
+}
@@ -0,0 +1,60 @@
+package com.wallet.service.infrastructure.persistence;
+
+import com.wallet.service.domain.valueobject.Money;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Per-wallet turnover for one UTC day, maintained incrementally as events are saved.
+ */
+@Entity
+@Table(name = "wallet_daily_rollups")
+@IdClass(WalletDailyRollup.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletDailyRollup {
+    @Id
+    private UUID walletId;
+
+    @Id
+    @Column(name = "rollup_day")
+    private LocalDate day;
+
+    @Column(name = "deposits_minor", nullable = false)
+    private Money deposits;
+
+    @Column(name = "withdrawals_minor", nullable = false)
+    private Money withdrawals;
+
+    @Column(name = "transfers_in_minor", nullable = false)
+    private Money transfersIn;
+
+    @Column(name = "transfers_out_minor", nullable = false)
+    private Money transfersOut;
+
+    @Column(name = "closing_balance_minor", nullable = false)
+    private Money closingBalance;
+
+    // Version of the event that produced closingBalance
+    @Column(nullable = false)
+    private int lastVersion;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private UUID walletId;
+        private LocalDate day;
+    }
+}
@@ -0,0 +1,13 @@
+package com.wallet.service.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WalletDailyRollupRepository extends JpaRepository<WalletDailyRollup, WalletDailyRollup.Key> {
+    List<WalletDailyRollup> findByWalletIdAndDayBetweenOrderByDayAsc(UUID walletId, LocalDate from, LocalDate to);
+}
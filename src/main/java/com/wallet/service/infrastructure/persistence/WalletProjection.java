@@ -1,12 +1,12 @@
 package com.wallet.service.infrastructure.persistence;
 
+import com.wallet.service.domain.valueobject.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -25,8 +25,8 @@ public class WalletProjection {
     @Column(nullable = false, unique = true)
     private UUID userId;
     
-    @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal balance;
+    @Column(name = "balance_minor", nullable = false)
+    private Money balance;
     
     @Column(nullable = false)
     private int version;
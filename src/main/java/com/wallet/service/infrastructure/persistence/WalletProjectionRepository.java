@@ -1,12 +1,64 @@
 package com.wallet.service.infrastructure.persistence;
 
+import com.wallet.service.domain.valueobject.Money;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface WalletProjectionRepository extends JpaRepository<WalletProjection, UUID> {
     Optional<WalletProjection> findByUserId(UUID userId);
-} 
\ No newline at end of file
+
+    List<WalletProjection> findByUserIdIn(Collection<UUID> userIds);
+
+    boolean existsByUserId(UUID userId);
+
+    @Query("select p.userId from WalletProjection p")
+    Stream<UUID> streamAllUserIds();
+
+    @Query("""
+            select new com.wallet.service.infrastructure.persistence.WalletVersion(p.id, p.version)
+            from WalletProjection p where p.id = :id
+            """)
+    Optional<WalletVersion> findVersionById(@Param("id") UUID id);
+
+    @Query("""
+            select new com.wallet.service.infrastructure.persistence.WalletVersion(p.id, p.version)
+            from WalletProjection p where p.userId = :userId
+            """)
+    Optional<WalletVersion> findVersionByUserId(@Param("userId") UUID userId);
+
+    @Query("""
+            select new com.wallet.service.infrastructure.persistence.WalletSnapshot(p.id, p.userId, p.balance, p.version)
+            from WalletProjection p where p.id = :id
+            """)
+    Optional<WalletSnapshot> findSnapshotById(@Param("id") UUID id);
+
+    @Query("""
+            select new com.wallet.service.infrastructure.persistence.WalletSnapshot(p.id, p.userId, p.balance, p.version)
+            from WalletProjection p where p.id in :ids
+            """)
+    List<WalletSnapshot> findSnapshotsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Optimistic version check; returns 0 when another writer advanced the wallet first
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update WalletProjection p
+            set p.balance = :balance, p.version = :version, p.lastUpdated = :lastUpdated
+            where p.id = :id and p.version = :expectedVersion
+            """)
+    int advance(@Param("id") UUID id,
+                @Param("expectedVersion") int expectedVersion,
+                @Param("version") int version,
+                @Param("balance") Money balance,
+                @Param("lastUpdated") Instant lastUpdated);
+}
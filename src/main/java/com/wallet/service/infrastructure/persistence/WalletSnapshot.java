@@ -0,0 +1,12 @@
+package com.wallet.service.infrastructure.persistence;
+
+import com.wallet.service.domain.valueobject.Money;
+
+import java.util.UUID;
+
+/**
+ * Current wallet state read from the projection as a plain value, so it is never
+ * served from a stale entity in the persistence context.
+ */
+public record WalletSnapshot(UUID id, UUID userId, Money balance, int version) {
+}
@@ -0,0 +1,9 @@
+package com.wallet.service.infrastructure.persistence;
+
+import java.util.UUID;
+
+/**
+ * Identity and version of a wallet projection, read without loading the row.
+ */
+public record WalletVersion(UUID id, int version) {
+}
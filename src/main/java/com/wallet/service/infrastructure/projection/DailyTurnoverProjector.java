@@ -0,0 +1,164 @@
+package com.wallet.service.infrastructure.projection;
+
+import com.wallet.service.domain.event.DomainEvent;
+import com.wallet.service.domain.event.MoneyDepositedEvent;
+import com.wallet.service.domain.event.MoneyPaidOutEvent;
+import com.wallet.service.domain.event.MoneyTransferredEvent;
+import com.wallet.service.domain.event.MoneyWithdrawnEvent;
+import com.wallet.service.domain.event.WalletCreatedEvent;
+import com.wallet.service.domain.valueobject.Money;
+import com.wallet.service.infrastructure.jfr.ProjectionWriteEvent;
+import com.wallet.service.infrastructure.persistence.WalletDailyRollup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds newly saved events into the per-wallet daily turnover rollups, so reports
+ * read one row per day instead of scanning the event log. All touched days are
+ * written with one JDBC batch of updates plus one batch of inserts for days that
+ * have no row yet, so multi-wallet saves and bulk imports stay cheap.
+ */
+@Component
+public class DailyTurnoverProjector {
+    private static final int BATCH_SIZE = 1_000;
+
+    // Adds to an existing row in place; the closing balance only moves forward in version
+    private static final String ACCUMULATE_SQL = """
+            update wallet_daily_rollups set
+                deposits_minor = deposits_minor + ?,
+                withdrawals_minor = withdrawals_minor + ?,
+                transfers_in_minor = transfers_in_minor + ?,
+                transfers_out_minor = transfers_out_minor + ?,
+                closing_balance_minor = case when ? > last_version then ? else closing_balance_minor end,
+                last_version = greatest(last_version, ?)
+            where wallet_id = ? and rollup_day = ?
+            """;
+    private static final String INSERT_SQL = """
+            insert into wallet_daily_rollups (wallet_id, rollup_day, deposits_minor, withdrawals_minor,
+                transfers_in_minor, transfers_out_minor, closing_balance_minor, last_version)
+            values (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String EXISTS_SQL =
+            "select count(*) from wallet_daily_rollups where wallet_id = ? and rollup_day = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailyTurnoverProjector(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Transactional
+    public void project(List<DomainEvent> events) {
+        Map<WalletDailyRollup.Key, Delta> deltas = new LinkedHashMap<>();
+        for (DomainEvent event : events) {
+            LocalDate day = LocalDate.ofInstant(event.getOccurredAt(), ZoneOffset.UTC);
+            deltas.computeIfAbsent(new WalletDailyRollup.Key(event.getAggregateId(), day), key -> new Delta())
+                    .add(event);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        ProjectionWriteEvent write = new ProjectionWriteEvent();
+        write.begin();
+        List<Map.Entry<WalletDailyRollup.Key, Delta>> entries = new ArrayList<>(deltas.entrySet());
+        int[][] updated = jdbcTemplate.batchUpdate(ACCUMULATE_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            Delta delta = entry.getValue();
+            ps.setLong(1, delta.deposits);
+            ps.setLong(2, delta.withdrawals);
+            ps.setLong(3, delta.transfersIn);
+            ps.setLong(4, delta.transfersOut);
+            ps.setInt(5, delta.version);
+            ps.setLong(6, delta.closingBalance);
+            ps.setInt(7, delta.version);
+            ps.setObject(8, entry.getKey().getWalletId());
+            ps.setObject(9, entry.getKey().getDay());
+        });
+
+        List<Map.Entry<WalletDailyRollup.Key, Delta>> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                Map.Entry<WalletDailyRollup.Key, Delta> entry = entries.get(index++);
+                // SUCCESS_NO_INFO: the update ran, but the driver cannot say whether it matched a row
+                if (count == 0 || (count == Statement.SUCCESS_NO_INFO && !exists(entry.getKey()))) {
+                    missing.add(entry);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, missing, BATCH_SIZE, (ps, entry) -> {
+                Delta delta = entry.getValue();
+                ps.setObject(1, entry.getKey().getWalletId());
+                ps.setObject(2, entry.getKey().getDay());
+                ps.setLong(3, delta.deposits);
+                ps.setLong(4, delta.withdrawals);
+                ps.setLong(5, delta.transfersIn);
+                ps.setLong(6, delta.transfersOut);
+                ps.setLong(7, delta.closingBalance);
+                ps.setInt(8, delta.version);
+            });
+        }
+        write.finish(ProjectionWriteEvent.DAILY_TURNOVER, null, entries.size(), false);
+    }
+
+    private boolean exists(WalletDailyRollup.Key key) {
+        Integer rows = jdbcTemplate.queryForObject(EXISTS_SQL, Integer.class, key.getWalletId(), key.getDay());
+        return rows != null && rows > 0;
+    }
+
+    private static final class Delta {
+        private long deposits;
+        private long withdrawals;
+        private long transfersIn;
+        private long transfersOut;
+        private long closingBalance;
+        private int version;
+
+        void add(DomainEvent event) {
+            switch (event) {
+                case WalletCreatedEvent e -> close(e.getInitialBalance(), e.getVersion());
+                case MoneyDepositedEvent e -> {
+                    deposits = Math.addExact(deposits, e.getAmount().minorUnits());
+                    close(e.getBalanceAfter(), e.getVersion());
+                }
+                case MoneyWithdrawnEvent e -> {
+                    withdrawals = Math.addExact(withdrawals, e.getAmount().minorUnits());
+                    close(e.getBalanceAfter(), e.getVersion());
+                }
+                case MoneyTransferredEvent e -> {
+                    if (e.getTransferType() == MoneyTransferredEvent.TransferType.SENT) {
+                        transfersOut = Math.addExact(transfersOut, e.getAmount().minorUnits());
+                    } else {
+                        transfersIn = Math.addExact(transfersIn, e.getAmount().minorUnits());
+                    }
+                    close(e.getBalanceAfter(), e.getVersion());
+                }
+                // A payout is money sent to other wallets, so it counts as outgoing transfers
+                case MoneyPaidOutEvent e -> {
+                    transfersOut = Math.addExact(transfersOut, e.getAmount().minorUnits());
+                    close(e.getBalanceAfter(), e.getVersion());
+                }
+                default -> {
+                }
+            }
+        }
+
+        private void close(Money balanceAfter, int eventVersion) {
+            if (eventVersion > version) {
+                closingBalance = balanceAfter.minorUnits();
+                version = eventVersion;
+            }
+        }
+    }
+}
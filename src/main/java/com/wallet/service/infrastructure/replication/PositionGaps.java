@@ -0,0 +1,67 @@
+package com.wallet.service.infrastructure.replication;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Positions the replicator has moved past without seeing. Positions are taken at
+ * insert but become visible at commit, so a hole is either a transaction that is
+ * still open or one that rolled back. Holes are kept as ranges with the time they
+ * were first noticed, re-read until they fill, and given up after a timeout.
+ */
+final class PositionGaps {
+    record Gap(long from, long to, Instant seenAt) {
+    }
+
+    private final NavigableMap<Long, Gap> gaps = new TreeMap<>();
+
+    void add(long from, long to, Instant seenAt) {
+        if (from <= to) {
+            gaps.put(from, new Gap(from, to, seenAt));
+        }
+    }
+
+    /**
+     * The oldest {@code max} gaps, lowest position first.
+     */
+    List<Gap> open(int max) {
+        return gaps.values().stream().limit(max).toList();
+    }
+
+    /**
+     * Marks a position as copied, splitting the gap that held it.
+     */
+    void fill(long position) {
+        Map.Entry<Long, Gap> entry = gaps.floorEntry(position);
+        if (entry == null || entry.getValue().to() < position) {
+            return;
+        }
+        Gap gap = gaps.remove(entry.getKey());
+        add(gap.from(), position - 1, gap.seenAt());
+        add(position + 1, gap.to(), gap.seenAt());
+    }
+
+    /**
+     * Drops the gaps first noticed before {@code cutoff} and returns them.
+     */
+    List<Gap> expire(Instant cutoff) {
+        List<Gap> expired = new ArrayList<>();
+        for (Iterator<Gap> it = gaps.values().iterator(); it.hasNext(); ) {
+            Gap gap = it.next();
+            if (gap.seenAt().isBefore(cutoff)) {
+                expired.add(gap);
+                it.remove();
+            }
+        }
+        return expired;
+    }
+
+    long positions() {
+        return gaps.values().stream().mapToLong(gap -> gap.to() - gap.from() + 1).sum();
+    }
+}
@@ -0,0 +1,284 @@
+package com.wallet.service.infrastructure.replication;
+
+import com.wallet.service.domain.event.DomainEvent;
+import com.wallet.service.infrastructure.eventstore.EventCodec;
+import com.wallet.service.infrastructure.projection.DailyTurnoverProjector;
+import com.wallet.service.infrastructure.sync.WalletChangeNotifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps a separate read database up to date by tailing the event log in position
+ * order. Each pass copies the next events and, in the same read-side transaction,
+ * folds them into the wallet projections and daily turnover rollups there, so
+ * queries see whole commands. The position of the last copied event is the
+ * replication cursor, so a restart resumes where the read database left off.
+ *
+ * <p>Positions are taken at insert but become visible at commit, so the cursor can
+ * pass a position whose transaction is still open. Such holes are remembered and
+ * re-read on every pass until their events show up, or until
+ * {@code wallet.events.gap-timeout} has passed and they are taken as rolled back.
+ * Within a wallet, events still arrive in version order: a command only writes the
+ * next version after the previous one has committed.
+ */
+@Component
+@ConditionalOnExpression("!'${wallet.datasource.read.url:}'.isBlank()")
+@Slf4j
+public class ReadReplicaReplicator {
+    private static final String SCHEMA_SCRIPT = "db/read-replica-schema.sql";
+
+    private static final String SELECT_EVENTS_SQL = """
+            select id, aggregate_id, aggregate_type, amount_minor, balance_after_minor, created_at, event_data,
+                   event_type, occurred_at, position, transaction_id, user_id, version
+            from events
+            where position > ?
+            order by position
+            limit ?
+            """;
+    private static final String SELECT_GAP_SQL = """
+            select id, aggregate_id, aggregate_type, amount_minor, balance_after_minor, created_at, event_data,
+                   event_type, occurred_at, position, transaction_id, user_id, version
+            from events
+            where position between ? and ?
+            order by position
+            """;
+    // Holes among the events the read database received within the gap timeout
+    private static final String RECENT_POSITIONS_SQL = """
+            select position from events
+            where position >= coalesce((select max(position) from events where created_at <= ?), 0)
+            order by position
+            """;
+    private static final String INSERT_EVENT_SQL = """
+            insert into events (id, aggregate_id, aggregate_type, amount_minor, balance_after_minor, created_at,
+                event_data, event_type, occurred_at, position, transaction_id, user_id, version)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_PROJECTION_SQL = """
+            insert into wallet_projections (id, user_id, balance_minor, version, last_updated)
+            values (?, ?, ?, ?, ?)
+            """;
+    private static final String ADVANCE_PROJECTION_SQL = """
+            update wallet_projections
+            set balance_minor = coalesce(?, balance_minor), version = ?, last_updated = ?
+            where id = ? and version < ?
+            """;
+    private static final int MAX_GAPS_PER_PASS = 100;
+
+    private final JdbcTemplate sourceJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final TransactionTemplate replicaTransaction;
+    private final DailyTurnoverProjector replicaTurnoverProjector;
+    private final EventCodec eventCodec;
+    private final WalletChangeNotifier changeNotifier;
+    private final Duration gapTimeout;
+    private final int batchSize;
+    private final Counter replicatedCounter;
+    private final Counter abandonedGapCounter;
+    private final PositionGaps gaps = new PositionGaps();
+    private volatile long position;
+    private volatile long gapPositions;
+
+    public ReadReplicaReplicator(
+            @Qualifier("writeDataSource") DataSource writeDataSource,
+            @Qualifier("readDataSource") DataSource readDataSource,
+            EventCodec eventCodec,
+            WalletChangeNotifier changeNotifier,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.events.gap-timeout:10m}") Duration gapTimeout,
+            @Value("${wallet.datasource.read.replication.batch-size:1000}") int batchSize) {
+        this.sourceJdbcTemplate = new JdbcTemplate(writeDataSource);
+        this.replicaJdbcTemplate = new JdbcTemplate(readDataSource);
+        this.replicaTransaction = new TransactionTemplate(new DataSourceTransactionManager(readDataSource));
+        this.replicaTurnoverProjector = new DailyTurnoverProjector(readDataSource);
+        this.eventCodec = eventCodec;
+        this.changeNotifier = changeNotifier;
+        this.gapTimeout = gapTimeout;
+        this.batchSize = batchSize;
+
+        new ResourceDatabasePopulator(new ClassPathResource(SCHEMA_SCRIPT)).execute(readDataSource);
+        this.position = replicaJdbcTemplate.queryForObject("select coalesce(max(position), 0) from events", Long.class);
+        rearmGaps();
+        log.info("Read replica starts after event position {} with {} positions still missing", position, gapPositions);
+
+        this.replicatedCounter = Counter.builder("wallet.replica.events")
+                .description("Events copied to the read database")
+                .register(meterRegistry);
+        this.abandonedGapCounter = Counter.builder("wallet.replica.gaps.abandoned")
+                .description("Missing positions given up after the gap timeout, taken as rolled back")
+                .register(meterRegistry);
+        Gauge.builder("wallet.replica.gaps", this, ReadReplicaReplicator::getGapPositions)
+                .description("Positions behind the cursor still waiting for their transaction to commit")
+                .register(meterRegistry);
+        Gauge.builder("wallet.replica.position", this, ReadReplicaReplicator::getPosition)
+                .description("Position of the last event copied to the read database")
+                .register(meterRegistry);
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getGapPositions() {
+        return gapPositions;
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.datasource.read.replication.interval:500ms}")
+    public void run() {
+        // Keep going while full batches come back, so a backlog drains in one run
+        int copied;
+        do {
+            copied = replicate();
+        } while (copied >= batchSize);
+    }
+
+    /**
+     * Copies the events that committed since the last pass, both after the cursor and
+     * in the holes behind it, and returns how many were copied.
+     */
+    public synchronized int replicate() {
+        Instant now = Instant.now();
+        List<Row> rows = new ArrayList<>();
+        for (PositionGaps.Gap gap : gaps.open(MAX_GAPS_PER_PASS)) {
+            rows.addAll(sourceJdbcTemplate.query(SELECT_GAP_SQL, (rs, rowNum) -> Row.read(rs), gap.from(), gap.to()));
+        }
+        int filled = rows.size();
+        List<Row> next = sourceJdbcTemplate.query(SELECT_EVENTS_SQL, (rs, rowNum) -> Row.read(rs), position, batchSize);
+        rows.addAll(next);
+
+        if (!rows.isEmpty()) {
+            rows.sort(Comparator.comparingLong(Row::position));
+            replicaTransaction.executeWithoutResult(status -> apply(rows));
+            rows.subList(0, filled).forEach(row -> gaps.fill(row.position()));
+            long expected = position + 1;
+            for (Row row : next) {
+                gaps.add(expected, row.position() - 1, now);
+                expected = row.position() + 1;
+            }
+            if (!next.isEmpty()) {
+                position = next.get(next.size() - 1).position();
+            }
+            replicatedCounter.increment(rows.size());
+            log.debug("Replicated {} events to the read database up to position {}, {} behind the cursor",
+                    rows.size(), position, filled);
+        }
+
+        for (PositionGaps.Gap gap : gaps.expire(now.minus(gapTimeout))) {
+            abandonedGapCounter.increment(gap.to() - gap.from() + 1);
+            log.warn("Positions {} to {} never committed within {}, taking them as rolled back",
+                    gap.from(), gap.to(), gapTimeout);
+        }
+        gapPositions = gaps.positions();
+        return rows.size();
+    }
+
+    // After a restart, holes the read database still has from recent writes are watched again
+    private void rearmGaps() {
+        List<Long> positions = replicaJdbcTemplate.queryForList(RECENT_POSITIONS_SQL, Long.class,
+                Instant.now().minus(gapTimeout).atOffset(ZoneOffset.UTC));
+        Instant now = Instant.now();
+        for (int i = 1; i < positions.size(); i++) {
+            gaps.add(positions.get(i - 1) + 1, positions.get(i) - 1, now);
+        }
+        gapPositions = gaps.positions();
+    }
+
+    private void apply(List<Row> rows) {
+        replicaJdbcTemplate.batchUpdate(INSERT_EVENT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setObject(1, row.id());
+            ps.setObject(2, row.aggregateId());
+            ps.setString(3, row.aggregateType());
+            ps.setObject(4, row.amountMinor(), Types.BIGINT);
+            ps.setObject(5, row.balanceAfterMinor(), Types.BIGINT);
+            ps.setObject(6, row.createdAt());
+            ps.setString(7, row.eventData());
+            ps.setString(8, row.eventType());
+            ps.setObject(9, row.occurredAt());
+            ps.setLong(10, row.position());
+            ps.setString(11, row.transactionId());
+            ps.setObject(12, row.userId());
+            ps.setInt(13, row.version());
+        });
+
+        // Within a wallet, positions follow versions, so the last row per wallet is its newest state
+        Map<UUID, Row> latest = new LinkedHashMap<>();
+        Map<UUID, UUID> created = new LinkedHashMap<>();
+        List<DomainEvent> events = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            latest.put(row.aggregateId(), row);
+            if ("WALLET_CREATED".equals(row.eventType())) {
+                created.put(row.aggregateId(), row.userId());
+            }
+            events.add(eventCodec.decode(row.eventType(), row.eventData()));
+        }
+
+        List<Row> inserts = latest.values().stream().filter(row -> created.containsKey(row.aggregateId())).toList();
+        List<Row> updates = latest.values().stream().filter(row -> !created.containsKey(row.aggregateId())).toList();
+        replicaJdbcTemplate.batchUpdate(INSERT_PROJECTION_SQL, inserts, batchSize, (ps, row) -> {
+            ps.setObject(1, row.aggregateId());
+            ps.setObject(2, created.get(row.aggregateId()));
+            ps.setLong(3, row.balanceAfterMinor() == null ? 0 : row.balanceAfterMinor());
+            ps.setInt(4, row.version());
+            ps.setObject(5, row.occurredAt());
+        });
+        replicaJdbcTemplate.batchUpdate(ADVANCE_PROJECTION_SQL, updates, batchSize, (ps, row) -> {
+            ps.setObject(1, row.balanceAfterMinor(), Types.BIGINT);
+            ps.setInt(2, row.version());
+            ps.setObject(3, row.occurredAt());
+            ps.setObject(4, row.aggregateId());
+            ps.setInt(5, row.version());
+        });
+
+        replicaTurnoverProjector.project(events);
+        // Long polls read from this database, so they are woken when the events land here
+        latest.keySet().forEach(changeNotifier::changed);
+    }
+
+    private record Row(UUID id, UUID aggregateId, String aggregateType, Long amountMinor, Long balanceAfterMinor,
+                       OffsetDateTime createdAt, String eventData, String eventType, OffsetDateTime occurredAt,
+                       long position, String transactionId, UUID userId, int version) {
+
+        static Row read(ResultSet rs) throws SQLException {
+            return new Row(
+                    rs.getObject(1, UUID.class),
+                    rs.getObject(2, UUID.class),
+                    rs.getString(3),
+                    rs.getObject(4, Long.class),
+                    rs.getObject(5, Long.class),
+                    rs.getObject(6, OffsetDateTime.class),
+                    rs.getString(7),
+                    rs.getString(8),
+                    rs.getObject(9, OffsetDateTime.class),
+                    rs.getLong(10),
+                    rs.getString(11),
+                    rs.getObject(12, UUID.class),
+                    rs.getInt(13));
+        }
+    }
+}
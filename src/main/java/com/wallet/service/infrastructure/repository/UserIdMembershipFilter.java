@@ -0,0 +1,83 @@
+package com.wallet.service.infrastructure.repository;
+
+import com.wallet.service.infrastructure.hashing.Hashing;
+import com.wallet.service.infrastructure.persistence.WalletProjectionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over the user ids that own a wallet. A negative answer is definite,
+ * so wallet creation for a new user skips the database probe. A positive answer
+ * may be a false positive and must be confirmed against the userId index.
+ *
+ * The filter only sees wallets created by this instance after startup, so the
+ * unique index on wallet_projections.userId remains the final guard.
+ */
+@Component
+@Slf4j
+public class UserIdMembershipFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final WalletProjectionRepository walletProjectionRepository;
+    private volatile boolean loaded;
+
+    public UserIdMembershipFilter(
+            WalletProjectionRepository walletProjectionRepository,
+            @Value("${wallet.membership-filter.expected-users:1000000}") long expectedUsers,
+            @Value("${wallet.membership-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.walletProjectionRepository = walletProjectionRepository;
+        long optimalBits = (long) Math.ceil(-expectedUsers * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, optimalBits);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedUsers * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    // Not read-only: the filter guards wallet creation, so it loads from the write database
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void load() {
+        try (Stream<UUID> userIds = walletProjectionRepository.streamAllUserIds()) {
+            userIds.forEach(this::add);
+        }
+        loaded = true;
+        log.info("Loaded user id membership filter ({} bits, {} hashes)", bitCount, hashCount);
+    }
+
+    public void add(UUID userId) {
+        long h1 = Hashing.mix64(userId.getMostSignificantBits());
+        long h2 = Hashing.mix64(userId.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << (bit & 63);
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(UUID userId) {
+        if (!loaded) {
+            return true;
+        }
+        long h1 = Hashing.mix64(userId.getMostSignificantBits());
+        long h2 = Hashing.mix64(userId.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
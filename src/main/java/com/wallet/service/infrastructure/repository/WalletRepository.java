@@ -3,12 +3,39 @@ package com.wallet.service.infrastructure.repository;
 import com.wallet.service.domain.aggregate.Wallet;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface WalletRepository {
     void save(Wallet wallet);
+
+    /**
+     * Saves an existing wallet unless another writer advanced it since it was loaded.
+     * Returns false on such a conflict without writing anything, so the surrounding
+     * transaction can still retry with fresh state.
+     */
+    boolean trySave(Wallet wallet);
+
+    /**
+     * Saves existing wallets together, appending all their events in one batch.
+     * Wallets modified concurrently since they were loaded are skipped and returned.
+     */
+    List<Wallet> saveAll(List<Wallet> wallets);
+
+    /**
+     * Current state of the given wallets from the projection, without replaying events.
+     * Unknown ids are absent from the result.
+     */
+    Map<UUID, Wallet> findCurrentByIds(Collection<UUID> ids);
+
+    /** Current state of one wallet from the projection, without replaying events. */
+    Optional<Wallet> findCurrentById(UUID id);
+
     Optional<Wallet> findById(UUID id);
     Optional<Wallet> findByIdAtTime(UUID id, Instant timestamp);
     Optional<Wallet> findByUserId(UUID userId);
+    boolean existsByUserId(UUID userId);
 } 
\ No newline at end of file
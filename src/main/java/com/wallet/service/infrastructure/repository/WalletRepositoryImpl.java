@@ -2,19 +2,31 @@ package com.wallet.service.infrastructure.repository;
 
 import com.wallet.service.domain.aggregate.Wallet;
 import com.wallet.service.domain.event.DomainEvent;
-import com.wallet.service.domain.event.WalletCreatedEvent;
+import com.wallet.service.domain.exception.ConcurrencyConflictException;
 import com.wallet.service.infrastructure.eventstore.EventStore;
+import com.wallet.service.infrastructure.jfr.ProjectionWriteEvent;
+import com.wallet.service.infrastructure.jfr.WalletReplayEvent;
+import com.wallet.service.infrastructure.persistence.EventRecord;
 import com.wallet.service.infrastructure.persistence.WalletProjection;
 import com.wallet.service.infrastructure.persistence.WalletProjectionRepository;
+import com.wallet.service.infrastructure.persistence.WalletSnapshot;
+import com.wallet.service.infrastructure.projection.DailyTurnoverProjector;
+import com.wallet.service.infrastructure.sync.WalletChangeNotifier;
+import com.wallet.service.infrastructure.telemetry.HotWalletTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Repository
 @RequiredArgsConstructor
@@ -22,56 +34,127 @@ import java.util.UUID;
 public class WalletRepositoryImpl implements WalletRepository {
     private final EventStore eventStore;
     private final WalletProjectionRepository walletProjectionRepository;
+    private final DailyTurnoverProjector dailyTurnoverProjector;
+    private final UserIdMembershipFilter userIdMembershipFilter;
+    private final HotWalletTracker hotWalletTracker;
+    private final WalletChangeNotifier walletChangeNotifier;
 
     @Override
     @Transactional
     public void save(Wallet wallet) {
-        if (!wallet.getUncommittedEvents().isEmpty()) {
-            eventStore.save(wallet.getUncommittedEvents(), "Wallet");
-            
-            // Update projection
-            WalletProjection projection = walletProjectionRepository
-                    .findById(wallet.getId())
-                    .orElse(WalletProjection.builder()
-                            .id(wallet.getId())
-                            .userId(wallet.getUserId())
-                            .build());
-            
-            projection.setBalance(wallet.getBalance());
-            projection.setVersion(wallet.getVersion());
-            projection.setLastUpdated(Instant.now());
-            
-            walletProjectionRepository.save(projection);
-            
-            wallet.markEventsAsCommitted();
-            log.info("Saved wallet {} with balance {}", wallet.getId(), wallet.getBalance());
+        if (!append(wallet)) {
+            throw new ConcurrencyConflictException("Wallet " + wallet.getId() + " was modified concurrently");
         }
     }
 
+    @Override
+    @Transactional
+    public boolean trySave(Wallet wallet) {
+        if (wallet.getVersion() == wallet.getUncommittedEvents().size()) {
+            throw new IllegalArgumentException("trySave only supports existing wallets: " + wallet.getId());
+        }
+        return append(wallet);
+    }
+
+    private boolean append(Wallet wallet) {
+        if (wallet.getUncommittedEvents().isEmpty()) {
+            return true;
+        }
+        // Advance the projection first: the conditional update locks the row, so concurrent
+        // writers of the same wallet serialize here and the loser sees a version mismatch
+        int expectedVersion = wallet.getVersion() - wallet.getUncommittedEvents().size();
+        ProjectionWriteEvent write = new ProjectionWriteEvent();
+        write.begin();
+        if (expectedVersion == 0) {
+            walletProjectionRepository.save(WalletProjection.builder()
+                    .id(wallet.getId())
+                    .userId(wallet.getUserId())
+                    .balance(wallet.getBalance())
+                    .version(wallet.getVersion())
+                    .lastUpdated(Instant.now())
+                    .build());
+            userIdMembershipFilter.add(wallet.getUserId());
+        } else if (walletProjectionRepository.advance(wallet.getId(), expectedVersion,
+                wallet.getVersion(), wallet.getBalance(), Instant.now()) == 0) {
+            write.finish(ProjectionWriteEvent.WALLET, wallet.getId(), 0, true);
+            hotWalletTracker.recordConflict(wallet.getId());
+            return false;
+        }
+        write.finish(ProjectionWriteEvent.WALLET, wallet.getId(), 1, false);
+
+        eventStore.save(wallet.getUncommittedEvents(), "Wallet");
+        dailyTurnoverProjector.project(wallet.getUncommittedEvents());
+        walletChangeNotifier.changed(wallet.getId());
+
+        wallet.markEventsAsCommitted();
+        log.info("Saved wallet {} with balance {}", wallet.getId(), wallet.getBalance());
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public List<Wallet> saveAll(List<Wallet> wallets) {
+        List<Wallet> saved = new ArrayList<>(wallets.size());
+        List<Wallet> conflicted = new ArrayList<>();
+        ProjectionWriteEvent write = new ProjectionWriteEvent();
+        write.begin();
+        for (Wallet wallet : wallets) {
+            if (wallet.getUncommittedEvents().isEmpty()) {
+                continue;
+            }
+            int expectedVersion = wallet.getVersion() - wallet.getUncommittedEvents().size();
+            if (expectedVersion == 0) {
+                throw new IllegalArgumentException("saveAll only supports existing wallets: " + wallet.getId());
+            }
+            if (walletProjectionRepository.advance(wallet.getId(), expectedVersion,
+                    wallet.getVersion(), wallet.getBalance(), Instant.now()) == 1) {
+                saved.add(wallet);
+            } else {
+                hotWalletTracker.recordConflict(wallet.getId());
+                conflicted.add(wallet);
+            }
+        }
+        write.finish(ProjectionWriteEvent.WALLET, null, saved.size(), !conflicted.isEmpty());
+
+        // Events are appended after all projection updates, so they reach the database as one insert batch
+        List<DomainEvent> events = saved.stream()
+                .flatMap(wallet -> wallet.getUncommittedEvents().stream())
+                .toList();
+        eventStore.save(events, "Wallet");
+        dailyTurnoverProjector.project(events);
+        saved.forEach(wallet -> walletChangeNotifier.changed(wallet.getId()));
+        saved.forEach(Wallet::markEventsAsCommitted);
+
+        log.info("Saved {} wallets in batch, {} modified concurrently", saved.size(), conflicted.size());
+        return conflicted;
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public Optional<Wallet> findById(UUID id) {
-        List<DomainEvent> events = eventStore.getEvents(id);
-        if (events.isEmpty()) {
-            return Optional.empty();
+    public Map<UUID, Wallet> findCurrentByIds(Collection<UUID> ids) {
+        Map<UUID, Wallet> wallets = new HashMap<>();
+        for (WalletSnapshot snapshot : walletProjectionRepository.findSnapshotsByIdIn(ids)) {
+            wallets.put(snapshot.id(), restore(snapshot));
         }
-        
-        Wallet wallet = new Wallet();
-        events.forEach(wallet::apply);
-        return Optional.of(wallet);
+        return wallets;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Wallet> findCurrentById(UUID id) {
+        return walletProjectionRepository.findSnapshotById(id).map(WalletRepositoryImpl::restore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Wallet> findById(UUID id) {
+        return replay(id, () -> eventStore.getEventRecords(id), false);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Wallet> findByIdAtTime(UUID id, Instant timestamp) {
-        List<DomainEvent> events = eventStore.getEventsUntil(id, timestamp);
-        if (events.isEmpty()) {
-            return Optional.empty();
-        }
-        
-        Wallet wallet = new Wallet();
-        events.forEach(wallet::apply);
-        return Optional.of(wallet);
+        return replay(id, () -> eventStore.getEventRecordsUntil(id, timestamp), true);
     }
 
     @Override
@@ -80,4 +163,39 @@ public class WalletRepositoryImpl implements WalletRepository {
         return walletProjectionRepository.findByUserId(userId)
                 .flatMap(projection -> findById(projection.getId()));
     }
-} 
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByUserId(UUID userId) {
+        return userIdMembershipFilter.mightContain(userId)
+                && walletProjectionRepository.existsByUserId(userId);
+    }
+
+    private static Wallet restore(WalletSnapshot snapshot) {
+        Wallet wallet = new Wallet();
+        wallet.restoreCreated(snapshot.id(), snapshot.userId(), snapshot.balance(), snapshot.version());
+        return wallet;
+    }
+
+    private Optional<Wallet> replay(UUID id, Supplier<List<EventRecord>> history, boolean pointInTime) {
+        WalletReplayEvent replay = new WalletReplayEvent();
+        replay.begin();
+        List<EventRecord> records = history.get();
+        if (records.isEmpty()) {
+            replay.finish(id, 0, pointInTime);
+            return Optional.empty();
+        }
+        hotWalletTracker.recordReplay(id, records.size());
+
+        Wallet wallet = new Wallet();
+        for (EventRecord record : records) {
+            if ("WALLET_CREATED".equals(record.eventType())) {
+                wallet.restoreCreated(record.aggregateId(), record.userId(), record.balanceAfter(), record.version());
+            } else if (record.balanceAfter() != null) {
+                wallet.restoreBalance(record.balanceAfter(), record.version());
+            }
+        }
+        replay.finish(id, records.size(), pointInTime);
+        return Optional.of(wallet);
+    }
+}
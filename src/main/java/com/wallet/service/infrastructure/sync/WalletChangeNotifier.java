@@ -0,0 +1,69 @@
+package com.wallet.service.infrastructure.sync;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wakes listeners waiting for new events of a wallet once the transaction that wrote
+ * them has committed. Each registration fires at most once; listeners that still
+ * need to wait register again. Listeners run on the committing thread and must only
+ * hand work off.
+ */
+@Component
+public class WalletChangeNotifier {
+    private final Map<UUID, Set<Runnable>> listeners = new ConcurrentHashMap<>();
+
+    public WalletChangeNotifier(MeterRegistry meterRegistry) {
+        Gauge.builder("wallet.sync.waiting", listeners, map -> map.values().stream().mapToInt(Set::size).sum())
+                .description("Listeners waiting for new events, one per open long poll")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a listener for the next change of the wallet and returns a handle that
+     * removes it again.
+     */
+    public Runnable listen(UUID walletId, Runnable listener) {
+        listeners.compute(walletId, (id, current) -> {
+            Set<Runnable> set = current == null ? ConcurrentHashMap.newKeySet() : current;
+            set.add(listener);
+            return set;
+        });
+        return () -> listeners.computeIfPresent(walletId, (id, current) -> {
+            current.remove(listener);
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    /**
+     * Signals new events for the wallet, after commit when a transaction is active.
+     */
+    public void changed(UUID walletId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            fire(walletId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                fire(walletId);
+            }
+        });
+    }
+
+    private void fire(UUID walletId) {
+        // Removing the set is atomic with registration: a listener added afterwards starts a new set
+        Set<Runnable> waiting = listeners.remove(walletId);
+        if (waiting != null) {
+            waiting.forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.wallet.service.infrastructure.telemetry;
+
+import com.wallet.service.infrastructure.hashing.Hashing;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free count-min sketch over wallet ids. Estimates never undercount; with
+ * {@code width} counters per row an id is overcounted by at most about e/width of the
+ * total, except with probability e^-depth. Memory is fixed however many ids are seen.
+ */
+public class CountMinSketch {
+    private final int width;
+    private final int depth;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two: " + width);
+        }
+        if (depth < 1) {
+            throw new IllegalArgumentException("Sketch depth must be positive: " + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new AtomicLongArray(width * depth);
+    }
+
+    /**
+     * Adds {@code count} for the id and returns its new estimate.
+     */
+    public long add(UUID id, long count) {
+        long h1 = Hashing.mix64(id.getMostSignificantBits());
+        long h2 = Hashing.mix64(id.getLeastSignificantBits()) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(row, h1, h2), count));
+        }
+        return estimate;
+    }
+
+    public long estimate(UUID id) {
+        long h1 = Hashing.mix64(id.getMostSignificantBits());
+        long h2 = Hashing.mix64(id.getLeastSignificantBits()) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter, so old activity fades and estimates follow recent traffic.
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >>> 1);
+        }
+    }
+
+    private int index(int row, long h1, long h2) {
+        return row * width + (int) ((h1 + row * h2) & (width - 1));
+    }
+}
@@ -0,0 +1,97 @@
+package com.wallet.service.infrastructure.telemetry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * The {@code capacity} wallet ids with the highest sketch estimates, kept in a min-heap
+ * so the weakest entry is the one evicted. Ids below the current minimum are rejected
+ * with a volatile read, so cold wallets never take the lock.
+ */
+public class HeavyHitters {
+    private final int capacity;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparingLong(Entry::count));
+    private volatile long threshold;
+
+    public HeavyHitters(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    public void offer(UUID id, long estimate) {
+        if (estimate <= threshold) {
+            return;
+        }
+        synchronized (this) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                heap.remove(entry);
+            } else if (heap.size() < capacity) {
+                entry = new Entry(id);
+                entries.put(id, entry);
+            } else if (estimate > heap.peek().count) {
+                entries.remove(heap.poll().id);
+                entry = new Entry(id);
+                entries.put(id, entry);
+            } else {
+                return;
+            }
+            entry.count = estimate;
+            heap.add(entry);
+            updateThreshold();
+        }
+    }
+
+    public synchronized void halve() {
+        List<Entry> current = new ArrayList<>(heap);
+        heap.clear();
+        for (Entry entry : current) {
+            entry.count >>>= 1;
+            if (entry.count == 0) {
+                entries.remove(entry.id);
+            } else {
+                heap.add(entry);
+            }
+        }
+        updateThreshold();
+    }
+
+    /**
+     * Tracked ids, highest estimate first.
+     */
+    public synchronized List<UUID> top() {
+        return heap.stream()
+                .sorted(Comparator.comparingLong(Entry::count).reversed())
+                .map(Entry::id)
+                .toList();
+    }
+
+    private void updateThreshold() {
+        threshold = heap.size() < capacity ? 0 : heap.peek().count;
+    }
+
+    private static final class Entry {
+        private final UUID id;
+        private long count;
+
+        private Entry(UUID id) {
+            this.id = id;
+        }
+
+        UUID id() {
+            return id;
+        }
+
+        long count() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.wallet.service.infrastructure.telemetry;
+
+import java.util.UUID;
+
+/**
+ * Decayed activity estimates for one wallet. Counts halve every half-life, so each is
+ * roughly twice the wallet's activity during the last half-life.
+ */
+public record HotWallet(
+        UUID walletId,
+        long requests,
+        long conflicts,
+        long replayedEvents,
+        double conflictRatio) {
+}
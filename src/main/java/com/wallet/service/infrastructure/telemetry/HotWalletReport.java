@@ -0,0 +1,11 @@
+package com.wallet.service.infrastructure.telemetry;
+
+import java.time.Duration;
+import java.util.List;
+
+public record HotWalletReport(
+        Duration halfLife,
+        List<HotWallet> byRequests,
+        List<HotWallet> byConflicts,
+        List<HotWallet> byReplayedEvents) {
+}
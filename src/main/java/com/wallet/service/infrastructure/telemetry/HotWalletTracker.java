@@ -0,0 +1,101 @@
+package com.wallet.service.infrastructure.telemetry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streaming top-K of the wallets that see the most requests, version conflicts and
+ * replayed events. Each dimension is a count-min sketch for the estimates plus a small
+ * heap of the current leaders; recording costs a few atomic increments per dimension
+ * and memory stays fixed. All counts halve every {@code wallet.hotspots.half-life}, so
+ * the leaders reflect recent traffic rather than all-time totals.
+ */
+@Component
+public class HotWalletTracker {
+    private final boolean enabled;
+    private final Duration halfLife;
+    private final Dimension requests;
+    private final Dimension conflicts;
+    private final Dimension replayedEvents;
+
+    public HotWalletTracker(
+            @Value("${wallet.hotspots.enabled:true}") boolean enabled,
+            @Value("${wallet.hotspots.top-k:20}") int topK,
+            @Value("${wallet.hotspots.sketch-width:4096}") int sketchWidth,
+            @Value("${wallet.hotspots.sketch-depth:4}") int sketchDepth,
+            @Value("${wallet.hotspots.half-life:60s}") Duration halfLife) {
+        this.enabled = enabled;
+        this.halfLife = halfLife;
+        this.requests = new Dimension(sketchWidth, sketchDepth, topK);
+        this.conflicts = new Dimension(sketchWidth, sketchDepth, topK);
+        this.replayedEvents = new Dimension(sketchWidth, sketchDepth, topK);
+    }
+
+    public void recordRequest(UUID walletId) {
+        if (enabled) {
+            requests.add(walletId, 1);
+        }
+    }
+
+    public void recordConflict(UUID walletId) {
+        if (enabled) {
+            conflicts.add(walletId, 1);
+        }
+    }
+
+    public void recordReplay(UUID walletId, int events) {
+        if (enabled && events > 0) {
+            replayedEvents.add(walletId, events);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${wallet.hotspots.half-life:60s}", initialDelayString = "${wallet.hotspots.half-life:60s}")
+    public void decay() {
+        requests.halve();
+        conflicts.halve();
+        replayedEvents.halve();
+    }
+
+    public HotWalletReport getReport() {
+        return new HotWalletReport(halfLife,
+                describe(requests.leaders.top()),
+                describe(conflicts.leaders.top()),
+                describe(replayedEvents.leaders.top()));
+    }
+
+    private List<HotWallet> describe(List<UUID> walletIds) {
+        return walletIds.stream()
+                .map(walletId -> {
+                    long requestCount = requests.sketch.estimate(walletId);
+                    long conflictCount = conflicts.sketch.estimate(walletId);
+                    return new HotWallet(walletId, requestCount, conflictCount,
+                            replayedEvents.sketch.estimate(walletId),
+                            requestCount == 0 ? 0 : Math.min(1.0, (double) conflictCount / requestCount));
+                })
+                .toList();
+    }
+
+    private static final class Dimension {
+        private final CountMinSketch sketch;
+        private final HeavyHitters leaders;
+
+        private Dimension(int sketchWidth, int sketchDepth, int topK) {
+            this.sketch = new CountMinSketch(sketchWidth, sketchDepth);
+            this.leaders = new HeavyHitters(topK);
+        }
+
+        void add(UUID walletId, long count) {
+            leaders.offer(walletId, sketch.add(walletId, count));
+        }
+
+        void halve() {
+            sketch.halve();
+            leaders.halve();
+        }
+    }
+}
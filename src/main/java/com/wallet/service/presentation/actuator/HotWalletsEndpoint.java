@@ -0,0 +1,23 @@
+package com.wallet.service.presentation.actuator;
+
+import com.wallet.service.infrastructure.telemetry.HotWalletReport;
+import com.wallet.service.infrastructure.telemetry.HotWalletTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the most requested and most contended wallets at /actuator/hotwallets.
+ */
+@Component
+@Endpoint(id = "hotwallets")
+@RequiredArgsConstructor
+public class HotWalletsEndpoint {
+    private final HotWalletTracker hotWalletTracker;
+
+    @ReadOperation
+    public HotWalletReport report() {
+        return hotWalletTracker.getReport();
+    }
+}
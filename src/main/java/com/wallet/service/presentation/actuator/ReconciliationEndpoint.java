@@ -0,0 +1,23 @@
+package com.wallet.service.presentation.actuator;
+
+import com.wallet.service.application.audit.ReconciliationAuditor;
+import com.wallet.service.application.audit.ReconciliationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the projection reconciliation status at /actuator/reconciliation.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationEndpoint {
+    private final ReconciliationAuditor reconciliationAuditor;
+
+    @ReadOperation
+    public ReconciliationStatus status() {
+        return reconciliationAuditor.getStatus();
+    }
+}
@@ -0,0 +1,20 @@
+package com.wallet.service.presentation.cli;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * The CLI jobs start a fresh application context, so with the default in-memory H2 url
+ * they would read or write a database that exists only for the run and still exit 0.
+ */
+final class CliDataSourceCheck {
+    private CliDataSourceCheck() {
+    }
+
+    static void requirePersistent(Environment environment, String option) {
+        String url = environment.getProperty("spring.datasource.url", "");
+        if (url.startsWith("jdbc:h2:mem:")) {
+            throw new IllegalStateException("--" + option + " needs --spring.datasource.url pointing at the"
+                    + " service's database, but it is the in-memory " + url);
+        }
+    }
+}
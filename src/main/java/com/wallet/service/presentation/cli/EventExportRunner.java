@@ -0,0 +1,59 @@
+package com.wallet.service.presentation.cli;
+
+import com.wallet.service.application.export.EventExportQuery;
+import com.wallet.service.application.export.EventLogExporter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * CLI export: {@code java -jar wallet-service.jar --export.output=events.ndjson}, with
+ * optional {@code --export.format}, {@code --export.after-position},
+ * {@code --export.aggregate-id}, {@code --export.event-type}, {@code --export.from}
+ * and {@code --export.to}. The application starts without a web server and exits
+ * when the file is written. {@code --spring.datasource.url} must point at the
+ * service's database; an in-memory url is rejected.
+ */
+@Component
+@ConditionalOnProperty(name = "export.output")
+@RequiredArgsConstructor
+@Slf4j
+public class EventExportRunner implements ApplicationRunner {
+    private final EventLogExporter eventLogExporter;
+    private final Environment environment;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        CliDataSourceCheck.requirePersistent(environment, "export.output");
+        Path output = Path.of(environment.getRequiredProperty("export.output"));
+        EventLogExporter.Format format = environment.getProperty("export.format",
+                EventLogExporter.Format.class, EventLogExporter.Format.NDJSON);
+        EventExportQuery query = EventExportQuery.builder()
+                .afterPosition(environment.getProperty("export.after-position", Long.class, 0L))
+                .aggregateId(environment.getProperty("export.aggregate-id", UUID.class))
+                .eventType(environment.getProperty("export.event-type"))
+                .from(instant("export.from"))
+                .to(instant("export.to"))
+                .build();
+
+        try (OutputStream out = Files.newOutputStream(output)) {
+            long lastPosition = eventLogExporter.write(query, format, out);
+            log.info("Exported events to {}; resume with --export.after-position={}", output, lastPosition);
+        }
+    }
+
+    private Instant instant(String property) {
+        String value = environment.getProperty(property);
+        return value == null ? null : Instant.parse(value);
+    }
+}
@@ -0,0 +1,48 @@
+package com.wallet.service.presentation.cli;
+
+import com.wallet.service.application.importer.EventLogImporter;
+import com.wallet.service.application.importer.ImportReport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * CLI import: {@code java -jar wallet-service.jar --import.input=events.ndjson}. The
+ * application starts without a web server, exits with status 1 when the file is
+ * rejected, and logs the first validation errors. {@code --spring.datasource.url} must
+ * point at the service's database; an in-memory url is rejected.
+ */
+@Component
+@ConditionalOnProperty(name = "import.input")
+@RequiredArgsConstructor
+@Slf4j
+public class EventImportRunner implements ApplicationRunner, ExitCodeGenerator {
+    private final EventLogImporter eventLogImporter;
+    private final Environment environment;
+    private int exitCode;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        CliDataSourceCheck.requirePersistent(environment, "import.input");
+        Path input = Path.of(environment.getRequiredProperty("import.input"));
+        ImportReport report = eventLogImporter.importFile(input);
+        if (!report.isImported()) {
+            report.getErrors().forEach(error ->
+                    log.error("Line {} (wallet {}): {}", error.getLine(), error.getAggregateId(), error.getMessage()));
+            log.error("Import rejected with {} errors, nothing was written", report.getErrorCount());
+            exitCode = 1;
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
@@ -0,0 +1,51 @@
+package com.wallet.service.presentation.controller;
+
+import com.wallet.service.application.export.EventExportQuery;
+import com.wallet.service.application.export.EventLogExporter;
+import com.wallet.service.presentation.filter.ReadOnly;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class EventExportController {
+    private final EventLogExporter eventLogExporter;
+
+    @ReadOnly
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "0") long afterPosition,
+            @RequestParam(required = false) UUID aggregateId,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Long limit,
+            @RequestParam(defaultValue = "NDJSON") EventLogExporter.Format format) {
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        EventExportQuery query = EventExportQuery.builder()
+                .afterPosition(afterPosition)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .from(from)
+                .to(to)
+                .limit(limit)
+                .build();
+        MediaType contentType = format == EventLogExporter.Format.NDJSON
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_OCTET_STREAM;
+        StreamingResponseBody body = outputStream -> eventLogExporter.write(query, format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(body);
+    }
+}
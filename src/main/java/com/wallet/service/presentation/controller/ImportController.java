@@ -0,0 +1,35 @@
+package com.wallet.service.presentation.controller;
+
+import com.wallet.service.application.importer.EventLogImporter;
+import com.wallet.service.application.importer.ImportReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@RestController
+@RequestMapping("/api/admin/imports")
+@RequiredArgsConstructor
+public class ImportController {
+    private final EventLogImporter eventLogImporter;
+
+    // The importer reads the file twice, so the upload is spooled to disk first
+    @PostMapping
+    public ResponseEntity<ImportReport> importEvents(InputStream body) throws IOException {
+        Path spool = Files.createTempFile("wallet-import", ".events");
+        try {
+            Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+            ImportReport report = eventLogImporter.importFile(spool);
+            return ResponseEntity.status(report.isImported() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(report);
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.wallet.service.presentation.controller;
+
+import com.wallet.service.application.report.BalanceAsOfReport;
+import com.wallet.service.presentation.filter.ReadOnly;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+    private final BalanceAsOfReport balanceAsOfReport;
+
+    @ReadOnly
+    @GetMapping("/balances")
+    public ResponseEntity<StreamingResponseBody> getBalancesAsOf(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf,
+            @RequestParam(defaultValue = "CSV") BalanceAsOfReport.Format format) {
+        MediaType contentType = format == BalanceAsOfReport.Format.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.APPLICATION_NDJSON;
+        StreamingResponseBody body = outputStream -> balanceAsOfReport.write(asOf, format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(body);
+    }
+}
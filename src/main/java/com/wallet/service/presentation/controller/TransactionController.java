@@ -0,0 +1,23 @@
+package com.wallet.service.presentation.controller;
+
+import com.wallet.service.application.handler.TransactionQueryHandler;
+import com.wallet.service.application.query.TransactionDto;
+import com.wallet.service.presentation.filter.ReadOnly;
+import com.wallet.service.presentation.interceptor.QueryBudget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/transactions")
+@RequiredArgsConstructor
+public class TransactionController {
+    private final TransactionQueryHandler queryHandler;
+
+    @QueryBudget(statements = 1, roundTrips = 2)
+    @ReadOnly
+    @GetMapping("/{transactionId}")
+    public ResponseEntity<TransactionDto> getTransaction(@PathVariable String transactionId) {
+        return ResponseEntity.ok(queryHandler.getTransaction(transactionId));
+    }
+}
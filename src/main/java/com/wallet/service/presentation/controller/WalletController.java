@@ -1,27 +1,60 @@
 package com.wallet.service.presentation.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wallet.service.application.command.*;
 import com.wallet.service.application.handler.WalletCommandHandler;
 import com.wallet.service.application.handler.WalletQueryHandler;
+import com.wallet.service.application.query.DailyTurnoverDto;
 import com.wallet.service.application.query.WalletDto;
+import com.wallet.service.application.query.WalletEventsDto;
+import com.wallet.service.application.query.WalletLookupResult;
+import com.wallet.service.application.sync.WalletEventFeed;
+import com.wallet.service.infrastructure.persistence.WalletVersion;
+import com.wallet.service.infrastructure.telemetry.HotWalletTracker;
 import com.wallet.service.presentation.dto.*;
+import com.wallet.service.presentation.filter.ReadOnly;
+import com.wallet.service.presentation.interceptor.QueryBudget;
+import com.wallet.service.presentation.interceptor.SqlBudgetInterceptor;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DurationFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
+/**
+ * Wallet commands and queries. Each query request counts once towards the hot-wallet
+ * request statistics here, however many handler calls it takes to answer; commands are
+ * counted by the command handler.
+ */
 @RestController
 @RequestMapping("/api/wallets")
 @RequiredArgsConstructor
 public class WalletController {
     private final WalletCommandHandler commandHandler;
     private final WalletQueryHandler queryHandler;
+    private final WalletEventFeed walletEventFeed;
+    private final HotWalletTracker hotWalletTracker;
+    private final ObjectMapper objectMapper;
 
+    @QueryBudget(statements = 5, roundTrips = 6)
     @PostMapping
     public ResponseEntity<CreateWalletResponse> createWallet(@Valid @RequestBody CreateWalletRequest request) {
         UUID walletId = commandHandler.handle(new CreateWalletCommand(request.getUserId()));
@@ -29,23 +62,106 @@ public class WalletController {
                 .body(new CreateWalletResponse(walletId));
     }
 
+    // A stale If-None-Match costs the version probe and the full read
+    @QueryBudget(statements = 2, roundTrips = 4)
+    @ReadOnly
     @GetMapping("/{walletId}")
-    public ResponseEntity<WalletDto> getWallet(@PathVariable UUID walletId) {
-        return ResponseEntity.ok(queryHandler.getWallet(walletId));
+    public ResponseEntity<WalletDto> getWallet(
+            @PathVariable UUID walletId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        hotWalletTracker.recordRequest(walletId);
+        if (ifNoneMatch != null) {
+            Optional<WalletVersion> current = queryHandler.getWalletVersion(walletId);
+            if (current.isPresent() && matches(ifNoneMatch, eTag(current.get().id(), current.get().version()))) {
+                return notModified(current.get());
+            }
+        }
+        return withETag(queryHandler.getWallet(walletId));
     }
 
+    @QueryBudget(statements = 2, roundTrips = 4)
+    @ReadOnly
     @GetMapping("/user/{userId}")
-    public ResponseEntity<WalletDto> getWalletByUserId(@PathVariable UUID userId) {
-        return ResponseEntity.ok(queryHandler.getWalletByUserId(userId));
+    public ResponseEntity<WalletDto> getWalletByUserId(
+            @PathVariable UUID userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<WalletVersion> current = queryHandler.getWalletVersionByUserId(userId);
+            if (current.isPresent() && matches(ifNoneMatch, eTag(current.get().id(), current.get().version()))) {
+                hotWalletTracker.recordRequest(current.get().id());
+                return notModified(current.get());
+            }
+        }
+        WalletDto wallet = queryHandler.getWalletByUserId(userId);
+        hotWalletTracker.recordRequest(wallet.getId());
+        return withETag(wallet);
+    }
+
+    // One IN query and one commit per lookup chunk
+    @QueryBudget(statements = 2, roundTrips = 4)
+    @ReadOnly
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getWallets(@Valid @RequestBody BatchWalletRequest request) {
+        Stream<WalletLookupResult> results = queryHandler.getWallets(
+                Objects.requireNonNullElse(request.getWalletIds(), List.of()),
+                Objects.requireNonNullElse(request.getUserIds(), List.of()));
+        StreamingResponseBody body = outputStream -> {
+            Iterator<WalletLookupResult> iterator = results.iterator();
+            while (iterator.hasNext()) {
+                WalletLookupResult result = iterator.next();
+                if (result.isFound()) {
+                    hotWalletTracker.recordRequest(result.getWallet().getId());
+                }
+                outputStream.write(objectMapper.writeValueAsBytes(result));
+                outputStream.write('\n');
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
+    @QueryBudget(statements = 1, roundTrips = 2)
+    @ReadOnly
     @GetMapping("/{walletId}/history")
     public ResponseEntity<WalletDto> getWalletAtTime(
             @PathVariable UUID walletId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant timestamp) {
+        hotWalletTracker.recordRequest(walletId);
         return ResponseEntity.ok(queryHandler.getWalletAtTime(walletId, timestamp));
     }
 
+    /**
+     * Events after the client's version, for incremental sync. With {@code wait}, an
+     * up-to-date client is answered when the next event commits, or with an empty page.
+     */
+    @QueryBudget(statements = 2, roundTrips = 3)
+    @ReadOnly
+    @GetMapping("/{walletId}/events")
+    public CompletableFuture<ResponseEntity<?>> getEvents(
+            @PathVariable UUID walletId,
+            @RequestParam(defaultValue = "0") int afterVersion,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0s") @DurationFormat(style = DurationFormat.Style.SIMPLE) Duration wait,
+            @RequestParam(defaultValue = "JSON") WalletEventFeed.Format format) {
+        // Once per poll: the feed re-reads on every wake-up while the client waits
+        hotWalletTracker.recordRequest(walletId);
+        return walletEventFeed.poll(walletId, afterVersion, limit, wait)
+                .thenApply(page -> toResponse(page, format));
+    }
+
+    @QueryBudget(statements = 2, roundTrips = 3)
+    @ReadOnly
+    @GetMapping("/{walletId}/turnover")
+    public ResponseEntity<List<DailyTurnoverDto>> getDailyTurnover(
+            @PathVariable UUID walletId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        hotWalletTracker.recordRequest(walletId);
+        return ResponseEntity.ok(queryHandler.getDailyTurnover(walletId, from, to));
+    }
+
+    @QueryBudget(statements = 4, roundTrips = 5)
     @PostMapping("/{walletId}/deposit")
     public ResponseEntity<Void> deposit(
             @PathVariable UUID walletId,
@@ -54,6 +170,7 @@ public class WalletController {
         return ResponseEntity.noContent().build();
     }
 
+    @QueryBudget(statements = 4, roundTrips = 5)
     @PostMapping("/{walletId}/withdraw")
     public ResponseEntity<Void> withdraw(
             @PathVariable UUID walletId,
@@ -62,6 +179,7 @@ public class WalletController {
         return ResponseEntity.noContent().build();
     }
 
+    @QueryBudget(statements = 8, roundTrips = 9)
     @PostMapping("/transfer")
     public ResponseEntity<Void> transfer(@Valid @RequestBody TransferRequest request) {
         commandHandler.handle(new TransferCommand(
@@ -71,4 +189,51 @@ public class WalletController {
         ));
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    @QueryBudget(statements = 5, roundTrips = 8, statementsPerItem = 3, roundTripsPerItem = 1)
+    @PostMapping("/{walletId}/payouts")
+    public ResponseEntity<PayoutResult> payout(
+            @PathVariable UUID walletId,
+            @Valid @RequestBody PayoutRequest request) {
+        List<PayoutCommand.Payment> payments = request.getPayments().stream()
+                .map(payment -> new PayoutCommand.Payment(payment.getToWalletId(), payment.getAmount()))
+                .toList();
+        SqlBudgetInterceptor.setItems(payments.size());
+        return ResponseEntity.ok(commandHandler.handle(new PayoutCommand(walletId, payments)));
+    }
+
+    // The projection version changes on every event, so (id, version) is a strong validator
+    private static String eTag(UUID walletId, int version) {
+        return "\"" + walletId + "-" + version + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
+
+    private static ResponseEntity<?> toResponse(WalletEventsDto page, WalletEventFeed.Format format) {
+        if (format == WalletEventFeed.Format.BINARY) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(WalletEventFeed.encode(page));
+        }
+        return ResponseEntity.ok(page);
+    }
+
+    private static ResponseEntity<WalletDto> withETag(WalletDto wallet) {
+        return ResponseEntity.ok()
+                .eTag(eTag(wallet.getId(), wallet.getVersion()))
+                .cacheControl(CacheControl.noCache())
+                .body(wallet);
+    }
+
+    private static ResponseEntity<WalletDto> notModified(WalletVersion current) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag(current.id(), current.version()))
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.wallet.service.presentation.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchWalletRequest {
+    @Size(max = 500, message = "At most 500 wallet IDs per request")
+    private List<UUID> walletIds = new ArrayList<>();
+
+    @Size(max = 500, message = "At most 500 user IDs per request")
+    private List<UUID> userIds = new ArrayList<>();
+}
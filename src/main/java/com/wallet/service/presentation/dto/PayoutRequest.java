@@ -0,0 +1,29 @@
+package com.wallet.service.presentation.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+// Individual payments are not bean-validated: invalid ones are reported per recipient
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayoutRequest {
+    @NotEmpty(message = "At least one payment is required")
+    @Size(max = 10_000, message = "At most 10000 payments per payout")
+    private List<Payment> payments;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payment {
+        private UUID toWalletId;
+        private BigDecimal amount;
+    }
+}
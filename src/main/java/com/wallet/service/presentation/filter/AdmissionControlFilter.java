@@ -0,0 +1,173 @@
+package com.wallet.service.presentation.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.infrastructure.admission.AdaptiveConcurrencyLimiter;
+import com.wallet.service.presentation.exception.ErrorResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.RequestPath;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Admission control for the API: commands and queries each take a permit from their
+ * own adaptive limiter. A request is a query when its handler is marked
+ * {@link ReadOnly}, or, when no handler matches, when it is a GET. When no permit is
+ * available the request is rejected with 429 and Retry-After instead of queueing in
+ * the servlet container.
+ *
+ * <p>How long an async request stays open says nothing about how busy the service is,
+ * so it never feeds the limiter's latency samples. A handler that parks the request on
+ * a future, such as a long poll, gives its permit back when it returns, sampled with
+ * the time the handler took. A streaming response keeps working while it writes, so it
+ * holds its permit until the async request completes and is released unsampled.
+ */
+@Component
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private final AdaptiveConcurrencyLimiter commandLimiter;
+    private final AdaptiveConcurrencyLimiter queryLimiter;
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int retryAfterSeconds;
+
+    public AdmissionControlFilter(
+            @Qualifier("commandLimiter") AdaptiveConcurrencyLimiter commandLimiter,
+            @Qualifier("queryLimiter") AdaptiveConcurrencyLimiter queryLimiter,
+            @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+            ObjectMapper objectMapper,
+            @Value("${wallet.admission.enabled:true}") boolean enabled,
+            @Value("${wallet.admission.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.commandLimiter = commandLimiter;
+        this.queryLimiter = queryLimiter;
+        this.handlerMapping = handlerMapping;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HandlerMethod handler = findHandler(request);
+        AdaptiveConcurrencyLimiter limiter = isReadOnly(request, handler) ? queryLimiter : commandLimiter;
+        if (!limiter.tryAcquire()) {
+            reject(response, limiter);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (completed && request.isAsyncStarted() && !parksRequest(handler)) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter));
+            } else {
+                release(limiter, start, !completed || isDropped(response));
+            }
+        }
+    }
+
+    private static boolean isReadOnly(HttpServletRequest request, HandlerMethod handler) {
+        return handler != null ? handler.hasMethodAnnotation(ReadOnly.class) : HttpMethod.GET.matches(request.getMethod());
+    }
+
+    // The request waits on a future completed elsewhere; nothing runs for it meanwhile
+    private static boolean parksRequest(HandlerMethod handler) {
+        Class<?> returnType = handler == null ? Void.class : handler.getReturnType().getParameterType();
+        return CompletionStage.class.isAssignableFrom(returnType) || DeferredResult.class.isAssignableFrom(returnType);
+    }
+
+    private HandlerMethod findHandler(HttpServletRequest request) {
+        // The handler mapping expects the parsed path the DispatcherServlet would have cached
+        RequestPath previous = (RequestPath) request.getAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE);
+        ServletRequestPathUtils.parseAndCache(request);
+        try {
+            HandlerExecutionChain handler = handlerMapping.getHandler(request);
+            return handler != null && handler.getHandler() instanceof HandlerMethod method ? method : null;
+        } catch (Exception e) {
+            // No unambiguous match, e.g. an unsupported media type; the dispatcher reports it
+            return null;
+        } finally {
+            if (previous == null) {
+                ServletRequestPathUtils.clearParsedRequestPath(request);
+            } else {
+                request.setAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE, previous);
+            }
+        }
+    }
+
+    // Server errors count as drops: they usually mean the database is struggling
+    private static boolean isDropped(HttpServletResponse response) {
+        return response.getStatus() >= 500;
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter limiter, long start, boolean dropped) {
+        limiter.release(System.nanoTime() - start, dropped);
+    }
+
+    private record ReleaseOnComplete(AdaptiveConcurrencyLimiter limiter) implements AsyncListener {
+
+        // Also called after a timeout or error, so the permit is released exactly once
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.releaseWithoutSample(event.getThrowable() != null
+                    || isDropped((HttpServletResponse) event.getSuppliedResponse()));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private void reject(HttpServletResponse response, AdaptiveConcurrencyLimiter limiter) throws IOException {
+        log.debug("Rejected {} request: concurrency limit {} reached", limiter.getName(), limiter.getLimit());
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message("Service is at capacity, retry later")
+                .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
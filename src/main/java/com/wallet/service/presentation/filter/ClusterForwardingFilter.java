@@ -0,0 +1,250 @@
+package com.wallet.service.presentation.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.infrastructure.cluster.ClusterNode;
+import com.wallet.service.infrastructure.cluster.ClusterRouter;
+import com.wallet.service.presentation.dto.TransferRequest;
+import com.wallet.service.presentation.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends wallet commands to the node that owns the wallet. Deposits, withdrawals and
+ * payouts route by the wallet in the path, transfers by the source wallet. Wallet
+ * creation and all queries are served locally since every node reads the same database.
+ * Ownership only concentrates writes to keep contention on one node, so when the owner
+ * refuses the connection the command never left this node and is handled locally.
+ * Once the command has been sent the owner may have applied it, and transaction ids
+ * are assigned by the server, so running it again here would be a second, independent
+ * money movement. A timeout then answers 504 and any other failure 503, leaving the
+ * client to check the wallet before retrying.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@ConditionalOnProperty(name = "wallet.cluster.enabled", havingValue = "true")
+@Slf4j
+public class ClusterForwardingFilter extends OncePerRequestFilter {
+    public static final String FORWARDED_HEADER = "X-Wallet-Forwarded-By";
+
+    private static final Pattern WALLET_COMMAND = Pattern.compile("^/api/wallets/([0-9a-fA-F-]{36})/(deposit|withdraw|payouts)$");
+    private static final String TRANSFER_PATH = "/api/wallets/transfer";
+
+    private final ClusterRouter router;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final Counter forwarded;
+    private final Counter forwardFallbacks;
+    private final Counter forwardFailures;
+
+    public ClusterForwardingFilter(
+            ClusterRouter router,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.cluster.forward-timeout:5s}") Duration timeout) {
+        this.router = router;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.forwarded = Counter.builder("wallet.cluster.forwarded")
+                .description("Commands forwarded to the owning node")
+                .register(meterRegistry);
+        this.forwardFallbacks = Counter.builder("wallet.cluster.forward.fallbacks")
+                .description("Forwards the owner never received, handled locally")
+                .register(meterRegistry);
+        this.forwardFailures = Counter.builder("wallet.cluster.forward.failures")
+                .description("Forwards that failed after the command was sent, answered with 503 or 504")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // A forwarded request is always handled where it lands, so nodes that briefly
+        // disagree about membership cannot bounce it back and forth
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(FORWARDED_HEADER) != null
+                || !(TRANSFER_PATH.equals(request.getRequestURI())
+                        || WALLET_COMMAND.matcher(request.getRequestURI()).matches());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpServletRequest replayable = new CachedBodyRequest(request, body);
+
+        Optional<ClusterNode> owner = resolveWalletId(request.getRequestURI(), body).flatMap(router::remoteOwnerOf);
+        if (owner.isEmpty()) {
+            chain.doFilter(replayable, response);
+            return;
+        }
+
+        HttpResponse<byte[]> ownerResponse;
+        try {
+            ownerResponse = forward(owner.get(), request, body);
+        } catch (ConnectException | HttpConnectTimeoutException e) {
+            forwardFallbacks.increment();
+            log.warn("Owner {} unreachable, handling locally: {}", owner.get().id(), e.getMessage());
+            chain.doFilter(replayable, response);
+            return;
+        } catch (HttpTimeoutException e) {
+            forwardFailures.increment();
+            log.warn("Forward to {} timed out, outcome unknown", owner.get().id());
+            reject(response, HttpStatus.GATEWAY_TIMEOUT, "Owning node " + owner.get().id()
+                    + " did not answer in time; the command may have been applied, check the wallet before retrying");
+            return;
+        } catch (IOException e) {
+            forwardFailures.increment();
+            log.warn("Forward to {} failed, outcome unknown: {}", owner.get().id(), e.getMessage());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Owning node " + owner.get().id()
+                    + " failed to answer; the command may have been applied, check the wallet before retrying");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while forwarding to " + owner.get().id(), e);
+        }
+
+        forwarded.increment();
+        // A failed write here means the client went away; the owner's outcome stands
+        response.setStatus(ownerResponse.statusCode());
+        ownerResponse.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(response::setContentType);
+        ownerResponse.headers().firstValue(HttpHeaders.RETRY_AFTER)
+                .ifPresent(value -> response.setHeader(HttpHeaders.RETRY_AFTER, value));
+        response.setHeader(FORWARDED_HEADER, owner.get().id());
+        response.getOutputStream().write(ownerResponse.body());
+    }
+
+    private Optional<UUID> resolveWalletId(String path, byte[] body) {
+        Matcher matcher = WALLET_COMMAND.matcher(path);
+        try {
+            if (matcher.matches()) {
+                return Optional.of(UUID.fromString(matcher.group(1)));
+            }
+            return Optional.ofNullable(objectMapper.readValue(body, TransferRequest.class).getFromWalletId());
+        } catch (IllegalArgumentException | IOException e) {
+            // Malformed requests are rejected by the local controller with a proper 400
+            return Optional.empty();
+        }
+    }
+
+    private HttpResponse<byte[]> forward(ClusterNode owner, HttpServletRequest request, byte[] body)
+            throws IOException, InterruptedException {
+        String query = request.getQueryString();
+        URI target = URI.create(owner.url() + request.getRequestURI() + (query == null ? "" : "?" + query));
+        HttpRequest.Builder forwardRequest = HttpRequest.newBuilder(target)
+                .timeout(timeout)
+                .header(FORWARDED_HEADER, router.selfId())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (request.getContentType() != null) {
+            forwardRequest.header(HttpHeaders.CONTENT_TYPE, request.getContentType());
+        }
+        return httpClient.send(forwardRequest.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    if (!isAsyncStarted()) {
+                        throw new IllegalStateException("Non-blocking reads need an async request");
+                    }
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.wallet.service.presentation.filter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler that only reads, whatever its HTTP method, such as a batch lookup
+ * sent as POST. {@link AdmissionControlFilter} admits these requests through the query
+ * limiter; every other handler takes a command permit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnly {
+}
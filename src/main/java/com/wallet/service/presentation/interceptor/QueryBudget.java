@@ -0,0 +1,30 @@
+package com.wallet.service.presentation.interceptor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The most SQL a handler may send for one request, counted by
+ * {@link SqlBudgetInterceptor}. Requests over budget are logged and counted in
+ * {@code wallet.sql.budget.exceeded}; the controller budget tests fail on them.
+ * Handlers that fan out report their item count with
+ * {@link SqlBudgetInterceptor#setItems(int)}, which scales the per-item allowances.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    /** Maximum SQL statements, counting every entry of a JDBC batch. */
+    int statements();
+
+    /** Maximum database round trips, counting a batch or a commit as one. */
+    int roundTrips();
+
+    /** Additional statements allowed for each item the handler reports. */
+    int statementsPerItem() default 0;
+
+    /** Additional round trips allowed for each item the handler reports. */
+    int roundTripsPerItem() default 0;
+}
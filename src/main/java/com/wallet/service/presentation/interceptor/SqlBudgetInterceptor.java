@@ -0,0 +1,121 @@
+package com.wallet.service.presentation.interceptor;
+
+import com.wallet.service.infrastructure.jdbc.SqlRoundTrips;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Counts the SQL statements and round trips each controller handler sends, records
+ * them per handler as {@code wallet.sql.statements} and {@code wallet.sql.roundtrips},
+ * and checks them against the handler's {@link QueryBudget}. The tally of the current
+ * request is left in the {@link #TALLY_ATTRIBUTE} request attribute, and the reported
+ * item count in {@link #ITEMS_ATTRIBUTE}.
+ *
+ * <p>SQL a streaming response body sends on the async executor counts towards the same
+ * request, so such requests are checked once the async dispatch completes.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+    public static final String TALLY_ATTRIBUTE = SqlBudgetInterceptor.class.getName() + ".tally";
+    public static final String ITEMS_ATTRIBUTE = SqlBudgetInterceptor.class.getName() + ".items";
+    private static final String ASYNC_TALLY_ATTRIBUTE = SqlBudgetInterceptor.class.getName() + ".asyncTally";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Reports how many items the current request fans out to, such as payout recipients,
+     * so its budget includes the per-item allowances.
+     */
+    public static void setItems(int items) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(ITEMS_ATTRIBUTE, items, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Streaming responses are re-dispatched after the handler ran; that pass sends no SQL
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(TALLY_ATTRIBUTE, SqlRoundTrips.start());
+        }
+        return true;
+    }
+
+    // The request thread is done, but the response is not: checked after the async dispatch
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(TALLY_ATTRIBUTE) instanceof SqlRoundTrips.Tally tally) {
+            tally.close();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        finish(request, handler);
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(TALLY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof SqlRoundTrips.Tally tally) {
+            request.setAttribute(ASYNC_TALLY_ATTRIBUTE, SqlRoundTrips.startWithin(tally), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        if (request.getAttribute(ASYNC_TALLY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof SqlRoundTrips.Tally tally) {
+            tally.close();
+        }
+    }
+
+    private void finish(HttpServletRequest request, Object handler) {
+        if (!(request.getAttribute(TALLY_ATTRIBUTE) instanceof SqlRoundTrips.Tally tally)
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        tally.close();
+
+        String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        DistributionSummary.builder("wallet.sql.statements")
+                .tag("handler", name)
+                .description("SQL statements sent per request")
+                .register(meterRegistry)
+                .record(tally.statements());
+        DistributionSummary.builder("wallet.sql.roundtrips")
+                .tag("handler", name)
+                .description("Database round trips per request")
+                .register(meterRegistry)
+                .record(tally.roundTrips());
+
+        QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+        if (budget == null) {
+            return;
+        }
+        int items = request.getAttribute(ITEMS_ATTRIBUTE) instanceof Integer count ? count : 0;
+        int maxStatements = budget.statements() + items * budget.statementsPerItem();
+        int maxRoundTrips = budget.roundTrips() + items * budget.roundTripsPerItem();
+        if (tally.statements() > maxStatements || tally.roundTrips() > maxRoundTrips) {
+            log.warn("{} sent {}, over its budget of {} statements in {} round trips",
+                    name, tally, maxStatements, maxRoundTrips);
+            Counter.builder("wallet.sql.budget.exceeded")
+                    .tag("handler", name)
+                    .description("Requests that sent more SQL than their handler's budget")
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+-- Event log partitioned by month of occurred_at, for PostgreSQL 12 or later.
+-- Run once before the first start with wallet.events.partitioning.enabled=true and
+-- spring.jpa.hibernate.ddl-auto=none; EventPartitionMaintainer then creates the monthly
+-- partitions ahead of time.
+-- Mirrors the JPA mapping of EventEntity, with two differences forced by partitioning:
+--   * unique indexes must contain occurred_at, so (aggregate_id, version) and position are
+--     kept unique by event_keys, a plain table every insert claims its keys in.
+--   * position comes from a sequence, which keeps it increasing across partitions.
+
+create table if not exists events (
+    id uuid not null,
+    position bigserial not null,
+    aggregate_id uuid not null,
+    aggregate_type varchar(255) not null,
+    event_type varchar(255) not null,
+    version integer not null,
+    user_id uuid,
+    amount_minor bigint,
+    balance_after_minor bigint,
+    transaction_id varchar(255),
+    event_data text not null,
+    occurred_at timestamp(6) with time zone not null,
+    created_at timestamp(6) with time zone not null,
+    primary key (id, occurred_at)
+) partition by range (occurred_at);
+
+-- Holds events outside every monthly partition, such as bulk imports of history
+create table if not exists events_default partition of events default;
+
+create index if not exists idx_aggregate_version on events (aggregate_id, version);
+create index if not exists idx_aggregate_occurred_at on events (aggregate_id, occurred_at);
+create index if not exists idx_occurred_at on events (occurred_at);
+create index if not exists idx_transaction_id on events (transaction_id);
+create index if not exists idx_position on events (position);
+
+-- One row per event, so a second event with the same wallet version or position fails the
+-- inserting transaction just as uk_aggregate_version and uk_position do on a plain table
+create table if not exists event_keys (
+    aggregate_id uuid not null,
+    version integer not null,
+    position bigint not null,
+    constraint uk_aggregate_version primary key (aggregate_id, version),
+    constraint uk_position unique (position)
+);
+
+create or replace function events_claim_keys() returns trigger language plpgsql as $$
+begin
+    insert into event_keys (aggregate_id, version, position) values (new.aggregate_id, new.version, new.position);
+    return null;
+end
+$$;
+
+drop trigger if exists events_claim_keys on events;
+create trigger events_claim_keys after insert on events for each row execute function events_claim_keys();
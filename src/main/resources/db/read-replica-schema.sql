@@ -0,0 +1,44 @@
+-- Tables read by queries, created on a separate read database by ReadReplicaReplicator.
+-- Mirrors the JPA mappings of EventEntity, WalletProjection and WalletDailyRollup.
+
+create table if not exists events (
+    id uuid not null primary key,
+    aggregate_id uuid not null,
+    aggregate_type varchar(255) not null,
+    amount_minor bigint,
+    balance_after_minor bigint,
+    created_at timestamp(6) with time zone not null,
+    event_data varchar not null,
+    event_type varchar(255) not null,
+    occurred_at timestamp(6) with time zone not null,
+    position bigint not null,
+    transaction_id varchar(255),
+    user_id uuid,
+    version integer not null,
+    constraint uk_aggregate_version unique (aggregate_id, version),
+    constraint uk_position unique (position)
+);
+create index if not exists idx_aggregate_occurred_at on events (aggregate_id, occurred_at);
+create index if not exists idx_occurred_at on events (occurred_at);
+create index if not exists idx_transaction_id on events (transaction_id);
+
+create table if not exists wallet_projections (
+    id uuid not null primary key,
+    balance_minor bigint not null,
+    last_updated timestamp(6) with time zone not null,
+    user_id uuid not null,
+    version integer not null,
+    constraint idx_user_id unique (user_id)
+);
+
+create table if not exists wallet_daily_rollups (
+    rollup_day date not null,
+    wallet_id uuid not null,
+    closing_balance_minor bigint not null,
+    deposits_minor bigint not null,
+    last_version integer not null,
+    transfers_in_minor bigint not null,
+    transfers_out_minor bigint not null,
+    withdrawals_minor bigint not null,
+    primary key (rollup_day, wallet_id)
+);
@@ -0,0 +1,114 @@
+package com.wallet.service.application.audit;
+
+import com.wallet.service.application.command.CreateWalletCommand;
+import com.wallet.service.application.command.DepositCommand;
+import com.wallet.service.application.handler.WalletCommandHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:audit-test;DB_CLOSE_DELAY=-1",
+        "wallet.audit.interval=1h",
+        "wallet.audit.batch-size=2"
+})
+class ReconciliationAuditorTest {
+    @Autowired
+    private ReconciliationAuditor auditor;
+    @Autowired
+    private WalletCommandHandler commandHandler;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        drain();
+    }
+
+    @Test
+    void testDetectsProjectionThatDisagreesWithEvents() {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+        commandHandler.handle(new DepositCommand(walletId, new BigDecimal("10.00")));
+        jdbcTemplate.update("update wallet_projections set balance_minor = balance_minor + 1 where id = ?", walletId);
+
+        drain();
+
+        ReconciliationMismatch mismatch = mismatch(walletId);
+        assertNotNull(mismatch, "tampered projection should be reported");
+        assertEquals(0, new BigDecimal("10.01").compareTo(mismatch.projectionBalance()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(mismatch.eventBalance()));
+        assertEquals(2, mismatch.eventVersion());
+    }
+
+    @Test
+    void testWatermarkAdvancesToNewestExaminedPosition() {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+        commandHandler.handle(new DepositCommand(walletId, new BigDecimal("1.00")));
+        long newest = jdbcTemplate.queryForObject(
+                "select max(position) from events where aggregate_id = ?", Long.class, walletId);
+
+        auditor.run();
+
+        ReconciliationStatus status = auditor.getStatus();
+        assertEquals(newest, status.watermark());
+        assertNull(mismatch(walletId));
+        assertEquals(0.0, meterRegistry.get("wallet.audit.watermark.lag.seconds").gauge().value());
+
+        auditor.run();
+        assertEquals(status.walletsChecked(), auditor.getStatus().walletsChecked(), "nothing new to check");
+    }
+
+    @Test
+    void testPagesThroughWalletsSharingATimestamp() {
+        List<UUID> walletIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            walletIds.add(commandHandler.handle(new CreateWalletCommand(UUID.randomUUID())));
+        }
+        // The same created_at everywhere, so a page of two always cuts through a tie
+        jdbcTemplate.update("update events set created_at = ? where position > ?",
+                Timestamp.from(Instant.now()), auditor.getStatus().watermark());
+        UUID last = walletIds.get(4);
+        jdbcTemplate.update("update wallet_projections set version = 7 where id = ?", last);
+        long checkedBefore = auditor.getStatus().walletsChecked();
+
+        auditor.run();
+        auditor.run();
+        auditor.run();
+
+        assertEquals(checkedBefore + 5, auditor.getStatus().walletsChecked());
+        assertNotNull(mismatch(last), "the last wallet of the tie should still be audited");
+    }
+
+    private void drain() {
+        long watermark;
+        do {
+            watermark = auditor.getStatus().watermark();
+            auditor.run();
+        } while (auditor.getStatus().watermark() != watermark);
+    }
+
+    private ReconciliationMismatch mismatch(UUID walletId) {
+        return auditor.getStatus().mismatches().stream()
+                .filter(mismatch -> mismatch.walletId().equals(walletId))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,164 @@
+package com.wallet.service.application.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.application.command.CreateWalletCommand;
+import com.wallet.service.application.command.DepositCommand;
+import com.wallet.service.application.handler.WalletCommandHandler;
+import com.wallet.service.domain.event.WalletCreatedEvent;
+import com.wallet.service.domain.valueobject.Money;
+import com.wallet.service.infrastructure.eventstore.EventCodec;
+import com.wallet.service.infrastructure.persistence.EventEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "wallet.audit.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:export-test;DB_CLOSE_DELAY=-1"
+})
+class EventLogExporterTest {
+    @Autowired
+    private EventLogExporter exporter;
+    @Autowired
+    private WalletCommandHandler commandHandler;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EventCodec eventCodec;
+    @Autowired
+    @Qualifier("writeDataSource")
+    private DataSource writeDataSource;
+
+    @Test
+    void testExportsWalletEventsInPositionOrderAndResumes() throws IOException {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+        commandHandler.handle(new DepositCommand(walletId, new BigDecimal("10.00")));
+        commandHandler.handle(new DepositCommand(walletId, new BigDecimal("2.50")));
+
+        List<JsonNode> all = exportNdjson(EventExportQuery.builder().aggregateId(walletId).build());
+
+        assertEquals(3, all.size());
+        assertEquals("WALLET_CREATED", all.get(0).get("eventType").asText());
+        assertEquals(2.50, all.get(2).get("data").get("amount").asDouble());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(i + 1, all.get(i).get("version").asInt());
+            assertEquals(walletId.toString(), all.get(i).get("aggregateId").asText());
+        }
+        assertTrue(all.get(0).get("position").asLong() < all.get(1).get("position").asLong());
+
+        long afterFirst = all.get(0).get("position").asLong();
+        List<JsonNode> resumed = exportNdjson(EventExportQuery.builder()
+                .aggregateId(walletId).afterPosition(afterFirst).eventType("MONEY_DEPOSITED").limit(1L).build());
+        assertEquals(1, resumed.size());
+        assertEquals(2, resumed.get(0).get("version").asInt());
+    }
+
+    @Test
+    void testBinaryFormatRoundTrips() throws IOException {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+        commandHandler.handle(new DepositCommand(walletId, new BigDecimal("7.00")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long lastPosition = exporter.write(EventExportQuery.builder().aggregateId(walletId).build(),
+                EventLogExporter.Format.BINARY, out);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertArrayEquals(EventLogExporter.BINARY_MAGIC, in.readNBytes(4));
+        List<String> types = new ArrayList<>();
+        long position = 0;
+        while (in.available() > 0) {
+            position = in.readLong();
+            assertEquals(walletId, new UUID(in.readLong(), in.readLong()));
+            assertEquals("Wallet", in.readUTF());
+            types.add(in.readUTF());
+            in.readInt();
+            in.readLong();
+            in.readInt();
+            byte[] payload = in.readNBytes(in.readInt());
+            assertEquals(walletId.toString(), objectMapper.readTree(payload).get("aggregateId").asText());
+        }
+        assertEquals(List.of("WALLET_CREATED", "MONEY_DEPOSITED"), types);
+        assertEquals(lastPosition, position);
+    }
+
+    @Test
+    void testStopsBeforeAPositionThatMayStillCommit() throws Exception {
+        long start = exporter.write(EventExportQuery.builder().build(), EventLogExporter.Format.NDJSON,
+                new ByteArrayOutputStream());
+        UUID earlyWalletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+        UUID lateWalletId = UUID.randomUUID();
+        UUID laterWalletId;
+        long resumeAt;
+
+        try (Connection connection = writeDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            insertCreated(connection, lateWalletId);
+            laterWalletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+
+            List<JsonNode> first = exportNdjson(EventExportQuery.builder().afterPosition(start).build());
+            assertEquals(List.of(earlyWalletId.toString()), aggregateIds(first),
+                    "events after the open transaction's position are held back");
+            resumeAt = first.get(0).get("position").asLong();
+
+            connection.commit();
+        }
+
+        List<JsonNode> resumed = exportNdjson(EventExportQuery.builder().afterPosition(resumeAt).build());
+        assertEquals(List.of(lateWalletId.toString(), laterWalletId.toString()), aggregateIds(resumed));
+    }
+
+    private void insertCreated(Connection connection, UUID walletId) throws Exception {
+        EventEntity created = eventCodec.encode(new WalletCreatedEvent(walletId, UUID.randomUUID(),
+                Money.ofMinor(0), Instant.now(), 1), "Wallet");
+        try (PreparedStatement insert = connection.prepareStatement("""
+                insert into events (id, aggregate_id, aggregate_type, event_type, version, user_id,
+                                    balance_after_minor, event_data, occurred_at, created_at)
+                values (?, ?, ?, ?, ?, ?, 0, ?, ?, ?)
+                """)) {
+            insert.setObject(1, UUID.randomUUID());
+            insert.setObject(2, walletId);
+            insert.setString(3, created.getAggregateType());
+            insert.setString(4, created.getEventType());
+            insert.setInt(5, created.getVersion());
+            insert.setObject(6, created.getUserId());
+            insert.setString(7, created.getEventData());
+            insert.setObject(8, created.getOccurredAt().atOffset(ZoneOffset.UTC));
+            insert.setObject(9, created.getCreatedAt().atOffset(ZoneOffset.UTC));
+            insert.executeUpdate();
+        }
+    }
+
+    private static List<String> aggregateIds(List<JsonNode> lines) {
+        return lines.stream().map(line -> line.get("aggregateId").asText()).toList();
+    }
+
+    private List<JsonNode> exportNdjson(EventExportQuery query) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.write(query, EventLogExporter.Format.NDJSON, out);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : Arrays.stream(out.toString(StandardCharsets.UTF_8).split("\n")).filter(l -> !l.isEmpty()).toList()) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,144 @@
+package com.wallet.service.application.handler;
+
+import com.wallet.service.application.command.CreateWalletCommand;
+import com.wallet.service.application.command.DepositCommand;
+import com.wallet.service.application.command.WithdrawCommand;
+import com.wallet.service.domain.aggregate.Wallet;
+import com.wallet.service.domain.exception.ConcurrencyConflictException;
+import com.wallet.service.domain.exception.InsufficientFundsException;
+import com.wallet.service.domain.valueobject.Money;
+import com.wallet.service.infrastructure.eventstore.EventStore;
+import com.wallet.service.infrastructure.persistence.EventRecord;
+import com.wallet.service.infrastructure.persistence.WalletProjection;
+import com.wallet.service.infrastructure.persistence.WalletProjectionRepository;
+import com.wallet.service.infrastructure.repository.WalletRepository;
+import com.wallet.service.infrastructure.telemetry.HotWalletTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Deposits and withdrawals read the projection row instead of replaying events, and
+ * rehydrate from the event log only when another command got in between.
+ */
+@SpringBootTest(properties = "wallet.audit.enabled=false")
+class WalletCommandHandlerFastPathTest {
+    @Autowired
+    private WalletCommandHandler commandHandler;
+    @Autowired
+    private WalletRepository walletRepository;
+    @Autowired
+    private WalletProjectionRepository walletProjectionRepository;
+    @Autowired
+    private EventStore eventStore;
+    @Autowired
+    private HotWalletTracker hotWalletTracker;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private WalletRepository repository;
+    private WalletCommandHandler handler;
+    private TransactionTemplate transaction;
+    private TransactionTemplate interferingTransaction;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(WalletRepository.class, delegatesTo(walletRepository));
+        handler = new WalletCommandHandler(repository, hotWalletTracker);
+        transaction = new TransactionTemplate(transactionManager);
+        interferingTransaction = new TransactionTemplate(transactionManager);
+        interferingTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    void testDepositAndWithdrawalDoNotReplayHistory() {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+
+        transaction.executeWithoutResult(status -> handler.handle(new DepositCommand(walletId, new BigDecimal("30.00"))));
+        transaction.executeWithoutResult(status -> handler.handle(new WithdrawCommand(walletId, new BigDecimal("12.50"))));
+
+        verify(repository, never()).findById(any());
+        assertConsistent(walletId, new BigDecimal("17.50"), 3);
+    }
+
+    @Test
+    void testConflictFallsBackToRehydratedWallet() {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+        doAnswer(invocation -> {
+            Object current = walletRepository.findCurrentById(walletId);
+            depositConcurrently(walletId, "5.00");
+            return current;
+        }).when(repository).findCurrentById(walletId);
+
+        transaction.executeWithoutResult(status -> handler.handle(new DepositCommand(walletId, new BigDecimal("10.00"))));
+
+        verify(repository).findById(walletId);
+        assertConsistent(walletId, new BigDecimal("15.00"), 3);
+    }
+
+    @Test
+    void testSecondConflictFailsTheCommand() {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+        doAnswer(invocation -> {
+            Object current = walletRepository.findCurrentById(walletId);
+            depositConcurrently(walletId, "5.00");
+            return current;
+        }).when(repository).findCurrentById(walletId);
+        doAnswer(invocation -> {
+            Object current = walletRepository.findById(walletId);
+            depositConcurrently(walletId, "5.00");
+            return current;
+        }).when(repository).findById(walletId);
+
+        assertThrows(ConcurrencyConflictException.class, () -> transaction.executeWithoutResult(
+                status -> handler.handle(new DepositCommand(walletId, new BigDecimal("10.00")))));
+
+        assertConsistent(walletId, new BigDecimal("10.00"), 3);
+    }
+
+    @Test
+    void testInsufficientFundsAgainstProjectionWritesNothing() {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+        commandHandler.handle(new DepositCommand(walletId, new BigDecimal("20.00")));
+
+        assertThrows(InsufficientFundsException.class,
+                () -> commandHandler.handle(new WithdrawCommand(walletId, new BigDecimal("20.01"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> commandHandler.handle(new DepositCommand(UUID.randomUUID(), BigDecimal.ONE)));
+
+        assertConsistent(walletId, new BigDecimal("20.00"), 2);
+    }
+
+    private void depositConcurrently(UUID walletId, String amount) {
+        interferingTransaction.executeWithoutResult(
+                status -> commandHandler.handle(new DepositCommand(walletId, new BigDecimal(amount))));
+    }
+
+    private void assertConsistent(UUID walletId, BigDecimal balance, int version) {
+        List<EventRecord> records = eventStore.getEventRecords(walletId);
+        assertEquals(version, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i + 1, records.get(i).version());
+        }
+
+        Wallet replayed = walletRepository.findById(walletId).orElseThrow();
+        WalletProjection projection = walletProjectionRepository.findById(walletId).orElseThrow();
+        assertEquals(Money.of(balance), replayed.getBalance());
+        assertEquals(version, replayed.getVersion());
+        assertEquals(replayed.getBalance(), projection.getBalance());
+        assertEquals(version, projection.getVersion());
+    }
+}
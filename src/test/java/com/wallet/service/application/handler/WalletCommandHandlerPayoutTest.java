@@ -0,0 +1,113 @@
+package com.wallet.service.application.handler;
+
+import com.wallet.service.application.command.CreateWalletCommand;
+import com.wallet.service.application.command.DepositCommand;
+import com.wallet.service.application.command.PayoutCommand;
+import com.wallet.service.application.command.PayoutResult;
+import com.wallet.service.domain.aggregate.Wallet;
+import com.wallet.service.domain.exception.InsufficientFundsException;
+import com.wallet.service.domain.valueobject.Money;
+import com.wallet.service.infrastructure.eventstore.EventStore;
+import com.wallet.service.infrastructure.persistence.EventRecord;
+import com.wallet.service.infrastructure.persistence.WalletProjectionRepository;
+import com.wallet.service.infrastructure.repository.WalletRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "wallet.audit.enabled=false")
+class WalletCommandHandlerPayoutTest {
+    @Autowired
+    private WalletCommandHandler commandHandler;
+    @Autowired
+    private WalletRepository walletRepository;
+    @Autowired
+    private WalletProjectionRepository walletProjectionRepository;
+    @Autowired
+    private EventStore eventStore;
+
+    @Test
+    void testPayoutDebitsSourceOnceAndCreditsRecipientsAcrossBatches() {
+        UUID source = createWallet(new BigDecimal("100000.00"));
+        int recipientCount = WalletCommandHandler.PAYOUT_BATCH_SIZE + 20;
+        List<PayoutCommand.Payment> payments = new ArrayList<>();
+        for (int i = 0; i < recipientCount; i++) {
+            payments.add(new PayoutCommand.Payment(createWallet(BigDecimal.ZERO), new BigDecimal("1.25")));
+        }
+
+        PayoutResult result = commandHandler.handle(new PayoutCommand(source, payments));
+
+        assertEquals(recipientCount, result.getCredited());
+        assertEquals(0, result.getRejected());
+        assertEquals(new BigDecimal("650.00"), result.getTotalPaid());
+        assertEquals(new BigDecimal("99350.00"), result.getSourceBalanceAfter());
+
+        List<EventRecord> sourceEvents = eventStore.getEventRecords(source);
+        assertEquals(3, sourceEvents.size());
+        assertEquals("MONEY_PAID_OUT", sourceEvents.get(2).eventType());
+
+        List<EventRecord> legs = eventStore.getEventRecordsByTransactionId(result.getTransactionId());
+        assertEquals(recipientCount + 1, legs.size());
+        for (PayoutCommand.Payment payment : payments) {
+            Wallet replayed = walletRepository.findById(payment.getToWalletId()).orElseThrow();
+            assertEquals(Money.of(new BigDecimal("1.25")), replayed.getBalance());
+            assertEquals(2, replayed.getVersion());
+            assertEquals(replayed.getBalance(),
+                    walletProjectionRepository.findById(payment.getToWalletId()).orElseThrow().getBalance());
+        }
+    }
+
+    @Test
+    void testInvalidRecipientsAreRejectedAndExcludedFromTotal() {
+        UUID source = createWallet(new BigDecimal("50.00"));
+        UUID recipient = createWallet(BigDecimal.ZERO);
+        UUID unknown = UUID.randomUUID();
+
+        PayoutResult result = commandHandler.handle(new PayoutCommand(source, List.of(
+                new PayoutCommand.Payment(recipient, new BigDecimal("10.00")),
+                new PayoutCommand.Payment(recipient, new BigDecimal("5.00")),
+                new PayoutCommand.Payment(unknown, new BigDecimal("5.00")),
+                new PayoutCommand.Payment(source, new BigDecimal("5.00")),
+                new PayoutCommand.Payment(createWallet(BigDecimal.ZERO), new BigDecimal("0.001")))));
+
+        assertEquals(1, result.getCredited());
+        assertEquals(4, result.getRejected());
+        assertEquals(new BigDecimal("10.00"), result.getTotalPaid());
+        assertEquals(new BigDecimal("40.00"), result.getSourceBalanceAfter());
+        assertEquals(PayoutResult.Status.CREDITED, result.getRecipients().get(0).getStatus());
+        assertEquals("Duplicate recipient", result.getRecipients().get(1).getReason());
+        assertEquals("Wallet not found", result.getRecipients().get(2).getReason());
+        assertEquals("Cannot pay out to the source wallet", result.getRecipients().get(3).getReason());
+        assertEquals(PayoutResult.Status.REJECTED, result.getRecipients().get(4).getStatus());
+    }
+
+    @Test
+    void testInsufficientFundsCreditsNobody() {
+        UUID source = createWallet(new BigDecimal("10.00"));
+        UUID first = createWallet(BigDecimal.ZERO);
+        UUID second = createWallet(BigDecimal.ZERO);
+
+        assertThrows(InsufficientFundsException.class, () -> commandHandler.handle(new PayoutCommand(source, List.of(
+                new PayoutCommand.Payment(first, new BigDecimal("6.00")),
+                new PayoutCommand.Payment(second, new BigDecimal("6.00"))))));
+
+        assertEquals(Money.ZERO, walletRepository.findById(first).orElseThrow().getBalance());
+        assertEquals(Money.ZERO, walletRepository.findById(second).orElseThrow().getBalance());
+        assertEquals(Money.of(new BigDecimal("10.00")), walletRepository.findById(source).orElseThrow().getBalance());
+    }
+
+    private UUID createWallet(BigDecimal initialBalance) {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+        if (initialBalance.signum() > 0) {
+            commandHandler.handle(new DepositCommand(walletId, initialBalance));
+        }
+        return walletId;
+    }
+}
@@ -0,0 +1,184 @@
+package com.wallet.service.application.handler;
+
+import com.wallet.service.application.command.CreateWalletCommand;
+import com.wallet.service.application.command.DepositCommand;
+import com.wallet.service.application.command.TransferCommand;
+import com.wallet.service.application.command.WithdrawCommand;
+import com.wallet.service.domain.aggregate.Wallet;
+import com.wallet.service.domain.exception.ConcurrencyConflictException;
+import com.wallet.service.domain.exception.InsufficientFundsException;
+import com.wallet.service.domain.valueobject.Money;
+import com.wallet.service.infrastructure.eventstore.EventStore;
+import com.wallet.service.infrastructure.persistence.EventRecord;
+import com.wallet.service.infrastructure.persistence.WalletProjection;
+import com.wallet.service.infrastructure.persistence.WalletProjectionRepository;
+import com.wallet.service.infrastructure.repository.WalletRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires mixed deposits, withdrawals and cross transfers from many threads at a small
+ * set of wallets, then checks that money is conserved, every stream has gap-free
+ * versions and forms a valid sequential history, and projections match replay.
+ * Doubles as a contention benchmark; scale it with -Dstress.threads, -Dstress.wallets
+ * and -Dstress.opsPerThread.
+ */
+@SpringBootTest(properties = "wallet.audit.enabled=false")
+class WalletCommandHandlerStressTest {
+    private static final Logger log = LoggerFactory.getLogger(WalletCommandHandlerStressTest.class);
+
+    private static final int THREADS = Integer.getInteger("stress.threads", 8);
+    private static final int WALLETS = Integer.getInteger("stress.wallets", 6);
+    private static final int OPS_PER_THREAD = Integer.getInteger("stress.opsPerThread", 150);
+    private static final long INITIAL_BALANCE_MINOR = 100_000;
+
+    @Autowired
+    private WalletCommandHandler commandHandler;
+    @Autowired
+    private WalletRepository walletRepository;
+    @Autowired
+    private WalletProjectionRepository walletProjectionRepository;
+    @Autowired
+    private EventStore eventStore;
+
+    private final AtomicLong netExternalFlowMinor = new AtomicLong();
+    private final AtomicLong deposits = new AtomicLong();
+    private final AtomicLong withdrawals = new AtomicLong();
+    private final AtomicLong transfers = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong insufficientFunds = new AtomicLong();
+
+    @Test
+    void testConcurrentCommandsPreserveInvariants() throws Exception {
+        List<UUID> walletIds = new ArrayList<>();
+        for (int i = 0; i < WALLETS; i++) {
+            UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+            commandHandler.handle(new DepositCommand(walletId, BigDecimal.valueOf(INITIAL_BALANCE_MINOR, Money.SCALE)));
+            walletIds.add(walletId);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    runRandomCommand(walletIds);
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        executor.shutdown();
+
+        long attempted = (long) THREADS * OPS_PER_THREAD;
+        log.info("Stress run: {} threads, {} wallets, {} commands in {}s ({} commands/s); "
+                        + "applied {} deposits, {} withdrawals, {} transfers; {} conflicts, {} insufficient funds",
+                THREADS, WALLETS, attempted, String.format("%.2f", seconds), String.format("%.0f", attempted / seconds),
+                deposits.get(), withdrawals.get(), transfers.get(), conflicts.get(), insufficientFunds.get());
+
+        assertMoneyConserved(walletIds);
+        long events = 0;
+        for (UUID walletId : walletIds) {
+            List<EventRecord> records = eventStore.getEventRecords(walletId);
+            assertValidSequentialHistory(walletId, records);
+            assertProjectionMatchesReplay(walletId);
+            events += records.size();
+        }
+
+        // Every applied command left exactly its events: creation and initial deposit per
+        // wallet, one event per deposit or withdrawal and two per transfer
+        assertEquals(2L * WALLETS + deposits.get() + withdrawals.get() + 2 * transfers.get(), events);
+    }
+
+    private void runRandomCommand(List<UUID> walletIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID walletId = walletIds.get(random.nextInt(walletIds.size()));
+        long amountMinor = 1 + random.nextLong(5_000);
+        BigDecimal amount = BigDecimal.valueOf(amountMinor, Money.SCALE);
+        try {
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    commandHandler.handle(new DepositCommand(walletId, amount));
+                    netExternalFlowMinor.addAndGet(amountMinor);
+                    deposits.incrementAndGet();
+                }
+                case 1 -> {
+                    commandHandler.handle(new WithdrawCommand(walletId, amount));
+                    netExternalFlowMinor.addAndGet(-amountMinor);
+                    withdrawals.incrementAndGet();
+                }
+                default -> {
+                    UUID toWalletId = walletIds.get(random.nextInt(walletIds.size()));
+                    if (toWalletId.equals(walletId)) {
+                        return;
+                    }
+                    commandHandler.handle(new TransferCommand(walletId, toWalletId, amount));
+                    transfers.incrementAndGet();
+                }
+            }
+        } catch (ConcurrencyConflictException | ConcurrencyFailureException | DataIntegrityViolationException e) {
+            conflicts.incrementAndGet();
+        } catch (InsufficientFundsException e) {
+            insufficientFunds.incrementAndGet();
+        }
+    }
+
+    private void assertMoneyConserved(List<UUID> walletIds) {
+        long total = walletProjectionRepository.findAllById(walletIds).stream()
+                .mapToLong(projection -> projection.getBalance().minorUnits())
+                .sum();
+        assertEquals(WALLETS * INITIAL_BALANCE_MINOR + netExternalFlowMinor.get(), total, "money was created or lost");
+    }
+
+    private void assertValidSequentialHistory(UUID walletId, List<EventRecord> records) {
+        long balance = 0;
+        for (int i = 0; i < records.size(); i++) {
+            EventRecord record = records.get(i);
+            assertEquals(i + 1, record.version(), "version gap or duplicate in wallet " + walletId);
+
+            long amount = record.amount() == null ? 0 : record.amount().minorUnits();
+            balance += switch (record.eventType()) {
+                case "MONEY_DEPOSITED", "MONEY_TRANSFERRED_RECEIVED" -> amount;
+                case "MONEY_WITHDRAWN", "MONEY_TRANSFERRED_SENT", "MONEY_PAID_OUT" -> -amount;
+                default -> 0;
+            };
+            assertEquals(balance, record.balanceAfter().minorUnits(),
+                    "balanceAfter does not follow from the previous event in wallet " + walletId + " v" + record.version());
+            assertTrue(balance >= 0, "negative balance in wallet " + walletId);
+        }
+    }
+
+    private void assertProjectionMatchesReplay(UUID walletId) {
+        Wallet replayed = walletRepository.findById(walletId).orElseThrow();
+        WalletProjection projection = walletProjectionRepository.findById(walletId).orElseThrow();
+        assertEquals(replayed.getBalance(), projection.getBalance(), "projection balance of " + walletId);
+        assertEquals(replayed.getVersion(), projection.getVersion(), "projection version of " + walletId);
+    }
+}
@@ -0,0 +1,146 @@
+package com.wallet.service.application.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.application.handler.WalletQueryHandler;
+import com.wallet.service.application.query.DailyTurnoverDto;
+import com.wallet.service.domain.aggregate.Wallet;
+import com.wallet.service.domain.event.DomainEvent;
+import com.wallet.service.domain.event.MoneyWithdrawnEvent;
+import com.wallet.service.domain.valueobject.Money;
+import com.wallet.service.infrastructure.persistence.WalletProjection;
+import com.wallet.service.infrastructure.persistence.WalletProjectionRepository;
+import com.wallet.service.infrastructure.repository.WalletRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"wallet.audit.enabled=false", "wallet.import.batch-size=64"})
+class EventLogImporterTest {
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private EventLogImporter importer;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private WalletRepository walletRepository;
+    @Autowired
+    private WalletProjectionRepository walletProjectionRepository;
+    @Autowired
+    private WalletQueryHandler queryHandler;
+
+    @Test
+    void testImportsValidHistoriesAndBuildsProjections() throws IOException {
+        List<Wallet> wallets = new ArrayList<>();
+        List<DomainEvent> events = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Wallet wallet = new Wallet(UUID.randomUUID());
+            for (int j = 1; j <= 5; j++) {
+                wallet.deposit(Money.of(new BigDecimal(j + ".00")), "legacy-" + i + "-" + j);
+            }
+            wallet.withdraw(Money.of(new BigDecimal("2.50")), "legacy-" + i + "-w");
+            wallets.add(wallet);
+            events.addAll(wallet.getUncommittedEvents());
+        }
+        Path file = write(events);
+
+        ImportReport report = importer.importFile(file);
+
+        assertTrue(report.isImported(), () -> "rejected: " + report.getErrors());
+        assertEquals(events.size(), report.getEvents());
+        assertEquals(50, report.getWallets());
+        for (Wallet expected : wallets) {
+            WalletProjection projection = walletProjectionRepository.findById(expected.getId()).orElseThrow();
+            assertEquals(Money.of(new BigDecimal("12.50")), projection.getBalance());
+            assertEquals(7, projection.getVersion());
+            Wallet replayed = walletRepository.findById(expected.getId()).orElseThrow();
+            assertEquals(projection.getBalance(), replayed.getBalance());
+            assertEquals(expected.getUserId(), replayed.getUserId());
+        }
+        assertTrue(walletRepository.existsByUserId(wallets.get(0).getUserId()));
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<DailyTurnoverDto> turnover = queryHandler.getDailyTurnover(wallets.get(0).getId(), today.minusDays(1), today.plusDays(1));
+        assertEquals(1, turnover.size());
+        assertEquals(0, new BigDecimal("15.00").compareTo(turnover.get(0).getDeposits()));
+    }
+
+    @Test
+    void testRejectsBrokenHistoriesWithoutWritingAnything() throws IOException {
+        Wallet gap = new Wallet(UUID.randomUUID());
+        gap.deposit(Money.of(new BigDecimal("10.00")), "tx1");
+        gap.deposit(Money.of(new BigDecimal("10.00")), "tx2");
+        List<DomainEvent> gapEvents = new ArrayList<>(gap.getUncommittedEvents());
+        gapEvents.remove(1);
+
+        Wallet overdrawn = new Wallet(UUID.randomUUID());
+        List<DomainEvent> overdrawnEvents = new ArrayList<>(overdrawn.getUncommittedEvents());
+        overdrawnEvents.add(MoneyWithdrawnEvent.builder()
+                .aggregateId(overdrawn.getId())
+                .amount(Money.of(new BigDecimal("1.00")))
+                .balanceAfter(Money.ZERO)
+                .transactionId("tx3")
+                .occurredAt(Instant.now())
+                .version(2)
+                .build());
+        Wallet ok = new Wallet(UUID.randomUUID());
+
+        List<DomainEvent> events = new ArrayList<>();
+        events.addAll(gapEvents);
+        events.addAll(overdrawnEvents);
+        events.addAll(ok.getUncommittedEvents());
+        Path file = write(events);
+        Files.writeString(file, Files.readString(file) + "not json\n");
+
+        ImportReport report = importer.importFile(file);
+
+        assertFalse(report.isImported());
+        assertEquals(3, report.getErrorCount());
+        assertTrue(report.getErrors().stream().anyMatch(e -> e.getMessage().startsWith("Expected version 2")));
+        assertTrue(report.getErrors().stream().anyMatch(e -> e.getMessage().contains("does not follow")));
+        assertTrue(report.getErrors().stream().anyMatch(e -> e.getMessage().startsWith("Malformed JSON")));
+        assertTrue(walletProjectionRepository.findById(ok.getId()).isEmpty());
+        assertTrue(walletRepository.findById(ok.getId()).isEmpty());
+    }
+
+    @Test
+    void testRejectsWalletsThatAlreadyExist() throws IOException {
+        Wallet wallet = new Wallet(UUID.randomUUID());
+        Path file = write(wallet.getUncommittedEvents());
+        assertTrue(importer.importFile(file).isImported());
+
+        ImportReport again = importer.importFile(file);
+
+        assertFalse(again.isImported());
+        assertEquals("Wallet already exists", again.getErrors().get(0).getMessage());
+    }
+
+    private Path write(List<DomainEvent> events) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (DomainEvent event : events) {
+            content.append(line(event));
+        }
+        Path file = Files.createTempFile(tempDir, "events", ".ndjson");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private String line(DomainEvent event) throws IOException {
+        return "{\"eventType\":\"" + event.getEventType() + "\",\"data\":" + objectMapper.writeValueAsString(event) + "}\n";
+    }
+}
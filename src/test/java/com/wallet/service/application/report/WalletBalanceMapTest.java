@@ -0,0 +1,49 @@
+package com.wallet.service.application.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalletBalanceMapTest {
+
+    @Test
+    void testKeepsBalanceOfHighestVersion() throws Exception {
+        WalletBalanceMap map = new WalletBalanceMap(16);
+        UUID walletId = UUID.randomUUID();
+
+        put(map, walletId, 2, 500);
+        put(map, walletId, 1, 0);
+        put(map, walletId, 3, 250);
+
+        Map<UUID, Long> result = collect(map);
+        assertEquals(1, map.size());
+        assertEquals(250L, result.get(walletId));
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() throws Exception {
+        WalletBalanceMap map = new WalletBalanceMap(16);
+        Map<UUID, Long> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID walletId = UUID.randomUUID();
+            put(map, walletId, 1, i);
+            expected.put(walletId, (long) i);
+        }
+
+        assertEquals(expected, collect(map));
+    }
+
+    private void put(WalletBalanceMap map, UUID walletId, int version, long balance) {
+        map.put(walletId.getMostSignificantBits(), walletId.getLeastSignificantBits(), version, balance);
+    }
+
+    private Map<UUID, Long> collect(WalletBalanceMap map) throws Exception {
+        Map<UUID, Long> result = new HashMap<>();
+        map.forEach((walletId, balance, version) -> result.put(walletId, balance));
+        return result;
+    }
+}
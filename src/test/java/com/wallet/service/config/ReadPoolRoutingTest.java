@@ -0,0 +1,80 @@
+package com.wallet.service.config;
+
+import com.wallet.service.application.command.CreateWalletCommand;
+import com.wallet.service.application.export.EventExportQuery;
+import com.wallet.service.application.export.EventLogExporter;
+import com.wallet.service.application.handler.WalletCommandHandler;
+import com.wallet.service.application.handler.WalletQueryHandler;
+import com.wallet.service.application.query.WalletLookupResult;
+import com.wallet.service.application.report.BalanceAsOfReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// With every write connection taken, anything that falls back to the write pool times out
+@SpringBootTest(properties = {
+        "wallet.audit.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:read-pool-test;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.connection-timeout=500"
+})
+class ReadPoolRoutingTest {
+    @Autowired
+    private WalletCommandHandler commandHandler;
+    @Autowired
+    private WalletQueryHandler queryHandler;
+    @Autowired
+    private BalanceAsOfReport balanceAsOfReport;
+    @Autowired
+    private EventLogExporter eventLogExporter;
+    @Autowired
+    @Qualifier("writeDataSource")
+    private DataSource writeDataSource;
+    @Value("${spring.datasource.hikari.maximum-pool-size}")
+    private int writePoolSize;
+
+    @Test
+    void testScansReadFromTheReadPool() throws Exception {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+
+        List<Connection> held = holdWritePool();
+        try {
+            ByteArrayOutputStream report = new ByteArrayOutputStream();
+            balanceAsOfReport.write(Instant.now(), BalanceAsOfReport.Format.CSV, report);
+            assertTrue(report.toString(StandardCharsets.UTF_8).contains(walletId.toString()));
+
+            ByteArrayOutputStream export = new ByteArrayOutputStream();
+            eventLogExporter.write(EventExportQuery.builder().aggregateId(walletId).build(),
+                    EventLogExporter.Format.NDJSON, export);
+            assertTrue(export.toString(StandardCharsets.UTF_8).contains(walletId.toString()));
+
+            List<WalletLookupResult> results = queryHandler.getWallets(List.of(walletId), List.of()).toList();
+            assertTrue(results.get(0).isFound());
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+    }
+
+    private List<Connection> holdWritePool() throws SQLException {
+        List<Connection> held = new ArrayList<>();
+        for (int i = 0; i < writePoolSize; i++) {
+            held.add(writeDataSource.getConnection());
+        }
+        return held;
+    }
+}
@@ -2,8 +2,10 @@ package com.wallet.service.domain.aggregate;
 
 import com.wallet.service.domain.event.DomainEvent;
 import com.wallet.service.domain.event.MoneyDepositedEvent;
+import com.wallet.service.domain.event.MoneyPaidOutEvent;
 import com.wallet.service.domain.event.WalletCreatedEvent;
 import com.wallet.service.domain.exception.InsufficientFundsException;
+import com.wallet.service.domain.valueobject.Money;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
@@ -24,7 +26,7 @@ class WalletTest {
         // Then
         assertNotNull(wallet.getId());
         assertEquals(userId, wallet.getUserId());
-        assertEquals(BigDecimal.ZERO, wallet.getBalance());
+        assertEquals(Money.ZERO, wallet.getBalance());
         assertEquals(1, wallet.getVersion());
         assertEquals(1, wallet.getUncommittedEvents().size());
         
@@ -38,7 +40,7 @@ class WalletTest {
         // Given
         Wallet wallet = new Wallet(UUID.randomUUID());
         wallet.markEventsAsCommitted();
-        BigDecimal depositAmount = new BigDecimal("100.00");
+        Money depositAmount = Money.of(new BigDecimal("100.00"));
 
         // When
         wallet.deposit(depositAmount, "TX123");
@@ -58,14 +60,14 @@ class WalletTest {
         // Given
         Wallet wallet = new Wallet(UUID.randomUUID());
         wallet.markEventsAsCommitted();
-        wallet.deposit(new BigDecimal("100.00"), "TX123");
+        wallet.deposit(Money.of(new BigDecimal("100.00")), "TX123");
         wallet.markEventsAsCommitted();
 
         // When
-        wallet.withdraw(new BigDecimal("50.00"), "TX124");
+        wallet.withdraw(Money.of(new BigDecimal("50.00")), "TX124");
 
         // Then
-        assertEquals(new BigDecimal("50.00"), wallet.getBalance());
+        assertEquals(Money.of(new BigDecimal("50.00")), wallet.getBalance());
         assertEquals(3, wallet.getVersion());
     }
 
@@ -77,7 +79,7 @@ class WalletTest {
 
         // When/Then
         assertThrows(InsufficientFundsException.class, () -> {
-            wallet.withdraw(new BigDecimal("50.00"), "TX124");
+            wallet.withdraw(Money.of(new BigDecimal("50.00")), "TX124");
         });
     }
 
@@ -88,7 +90,40 @@ class WalletTest {
 
         // When/Then
         assertThrows(IllegalArgumentException.class, () -> {
-            wallet.deposit(new BigDecimal("-10.00"), "TX123");
+            wallet.deposit(Money.of(new BigDecimal("-10.00")), "TX123");
         });
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testPayOutDebitsTotalOnce() {
+        // Given
+        Wallet wallet = new Wallet(UUID.randomUUID());
+        wallet.deposit(Money.of(new BigDecimal("100.00")), "TX1");
+        wallet.markEventsAsCommitted();
+
+        // When
+        wallet.payOut(Money.of(new BigDecimal("75.50")), 3, "PAYOUT1");
+
+        // Then
+        assertEquals(Money.of(new BigDecimal("24.50")), wallet.getBalance());
+        assertEquals(3, wallet.getVersion());
+        assertEquals(1, wallet.getUncommittedEvents().size());
+        MoneyPaidOutEvent event = (MoneyPaidOutEvent) wallet.getUncommittedEvents().get(0);
+        assertEquals("MONEY_PAID_OUT", event.getEventType());
+        assertEquals(3, event.getRecipientCount());
+        assertEquals("PAYOUT1", event.getTransactionId());
+    }
+
+    @Test
+    void testPayOutWithInsufficientFunds() {
+        // Given
+        Wallet wallet = new Wallet(UUID.randomUUID());
+        wallet.markEventsAsCommitted();
+
+        // When/Then
+        assertThrows(InsufficientFundsException.class, () -> {
+            wallet.payOut(Money.of(new BigDecimal("1.00")), 1, "PAYOUT1");
+        });
+        assertTrue(wallet.getUncommittedEvents().isEmpty());
+    }
+}
@@ -0,0 +1,41 @@
+package com.wallet.service.domain.valueobject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void testConvertsFromAndToBigDecimal() {
+        Money money = Money.of(new BigDecimal("100.5"));
+
+        assertEquals(10050, money.minorUnits());
+        assertEquals(new BigDecimal("100.50"), money.toBigDecimal());
+    }
+
+    @Test
+    void testRejectsAmountsBeyondCurrencyScale() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("1.001")));
+    }
+
+    @Test
+    void testArithmeticIsOverflowChecked() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+        Money min = Money.ofMinor(Long.MIN_VALUE);
+
+        assertThrows(IllegalArgumentException.class, () -> max.plus(Money.ofMinor(1)));
+        assertThrows(IllegalArgumentException.class, () -> min.minus(Money.ofMinor(1)));
+    }
+
+    @Test
+    void testSerializesAsDecimalNumber() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertEquals("25.10", objectMapper.writeValueAsString(Money.ofMinor(2510)));
+        assertEquals(Money.ofMinor(2510), objectMapper.readValue("25.1", Money.class));
+    }
+}
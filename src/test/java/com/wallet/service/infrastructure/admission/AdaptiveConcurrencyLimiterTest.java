@@ -0,0 +1,91 @@
+package com.wallet.service.infrastructure.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = 1_000_000;
+    private static final long SLOW = 50_000_000;
+
+    @Test
+    void testRejectsWhenLimitReached() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+
+        limiter.release(FAST, false);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyStaysLow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 100);
+
+        for (int i = 0; i < 50; i++) {
+            fillAndRelease(limiter, FAST);
+        }
+
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 2, 100);
+        fillAndRelease(limiter, FAST);
+
+        for (int i = 0; i < 100; i++) {
+            fillAndRelease(limiter, SLOW);
+        }
+
+        assertTrue(limiter.getLimit() < 10);
+    }
+
+    @Test
+    void testDropsReduceLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 1, 100);
+
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+
+        assertTrue(limiter.getLimit() < 20);
+    }
+
+    @Test
+    void testUnsampledReleasesLeaveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 2, 100);
+        fillAndRelease(limiter, FAST);
+        int limit = limiter.getLimit();
+
+        for (int i = 0; i < 100; i++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int j = 0; j < acquired; j++) {
+                limiter.releaseWithoutSample(false);
+            }
+        }
+
+        assertEquals(limit, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+
+        limiter.tryAcquire();
+        limiter.releaseWithoutSample(true);
+        assertTrue(limiter.getLimit() < limit);
+    }
+
+    private void fillAndRelease(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rttNanos, false);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.wallet.service.infrastructure.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+    private static final ClusterNode A = new ClusterNode("node-a", "http://localhost:8081");
+    private static final ClusterNode B = new ClusterNode("node-b", "http://localhost:8082");
+    private static final ClusterNode C = new ClusterNode("node-c", "http://localhost:8083");
+
+    private final List<UUID> walletIds = IntStream.range(0, 30_000).mapToObj(i -> UUID.randomUUID()).toList();
+
+    @Test
+    void testSpreadsWalletsEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(A, B, C), 128);
+
+        Map<ClusterNode, Integer> counts = new HashMap<>();
+        walletIds.forEach(id -> counts.merge(ring.ownerOf(id), 1, Integer::sum));
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(Math.abs(count - 10_000) < 2_000, "unbalanced: " + counts));
+    }
+
+    @Test
+    void testOwnershipIsStableAcrossInstancesAndOrder() {
+        ConsistentHashRing first = new ConsistentHashRing(List.of(A, B, C), 128);
+        ConsistentHashRing second = new ConsistentHashRing(List.of(C, A, B), 128);
+
+        walletIds.forEach(id -> assertEquals(first.ownerOf(id), second.ownerOf(id)));
+    }
+
+    @Test
+    void testOnlyDepartedNodesWalletsMoveWhenNodeLeaves() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of(A, B, C), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(A, C), 128);
+
+        for (UUID id : walletIds) {
+            ClusterNode previous = before.ownerOf(id);
+            ClusterNode current = after.ownerOf(id);
+            if (previous.equals(B)) {
+                assertNotEquals(B, current);
+            } else {
+                assertEquals(previous, current);
+            }
+        }
+    }
+
+    @Test
+    void testJoiningNodeTakesAboutItsShare() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of(A, B), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(A, B, C), 128);
+
+        long moved = walletIds.stream().filter(id -> !before.ownerOf(id).equals(after.ownerOf(id))).count();
+
+        walletIds.stream()
+                .filter(id -> !before.ownerOf(id).equals(after.ownerOf(id)))
+                .forEach(id -> assertEquals(C, after.ownerOf(id)));
+        assertTrue(Math.abs(moved - 10_000) < 2_000, "moved " + moved);
+    }
+
+    @Test
+    void testRejectsEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), 128));
+    }
+
+    @Test
+    void testRouterDropsNodeThatLeavesTheRegistry() throws Exception {
+        Path directory = Files.createTempDirectory("wallet-cluster");
+        FileRegistryClusterMembership self = new FileRegistryClusterMembership("node-a", A.url(), directory, Duration.ofMinutes(1));
+        FileRegistryClusterMembership other = new FileRegistryClusterMembership("node-b", B.url(), directory, Duration.ofMinutes(1));
+        other.heartbeat();
+        self.heartbeat();
+        ClusterRouter router = new ClusterRouter(self, 128);
+
+        assertEquals(List.of(A, B), self.members().stream().sorted((x, y) -> x.id().compareTo(y.id())).toList());
+        assertTrue(walletIds.stream().anyMatch(id -> router.remoteOwnerOf(id).isPresent()));
+
+        other.leave();
+        self.heartbeat();
+
+        assertEquals(List.of(A), self.members());
+        assertTrue(walletIds.stream().allMatch(id -> router.remoteOwnerOf(id).isEmpty()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.wallet.service.infrastructure.cluster;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileRegistryClusterMembershipTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testListsLiveMembersInIdOrder() throws IOException {
+        Files.writeString(directory.resolve("node-c.node"), "http://localhost:8083");
+        Files.writeString(directory.resolve("node-a.node"), "http://localhost:8081\n");
+        Path stale = Files.writeString(directory.resolve("node-d.node"), "http://localhost:8084");
+        Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minusSeconds(60)));
+        FileRegistryClusterMembership membership = new FileRegistryClusterMembership(
+                "node-b", "http://localhost:8082", directory, Duration.ofSeconds(10));
+
+        membership.heartbeat();
+
+        assertEquals(List.of(
+                new ClusterNode("node-a", "http://localhost:8081"),
+                new ClusterNode("node-b", "http://localhost:8082"),
+                new ClusterNode("node-c", "http://localhost:8083")), membership.members());
+    }
+}
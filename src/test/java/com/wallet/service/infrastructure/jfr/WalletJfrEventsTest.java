@@ -0,0 +1,128 @@
+package com.wallet.service.infrastructure.jfr;
+
+import com.wallet.service.application.command.CreateWalletCommand;
+import com.wallet.service.application.command.DepositCommand;
+import com.wallet.service.application.handler.WalletCommandHandler;
+import com.wallet.service.infrastructure.repository.WalletRepository;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "wallet.audit.enabled=false")
+class WalletJfrEventsTest {
+    private static final List<String> EVENTS = List.of("com.wallet.Replay", "com.wallet.EventSerialization",
+            "com.wallet.EventAppend", "com.wallet.ProjectionWrite", "com.wallet.Commit");
+
+    @Autowired
+    private WalletCommandHandler commandHandler;
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Test
+    void testCommandPhasesAreRecorded() throws Exception {
+        List<RecordedEvent> events;
+        UUID walletId;
+        try (Recording recording = new Recording()) {
+            EVENTS.forEach(name -> recording.enable(name).withThreshold(Duration.ZERO));
+            recording.start();
+
+            walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+            commandHandler.handle(new DepositCommand(walletId, new BigDecimal("12.00")));
+            walletRepository.findById(walletId);
+
+            recording.stop();
+            Path file = Files.createTempFile("wallet", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.delete(file);
+            }
+        }
+
+        RecordedEvent replay = only(events, "com.wallet.Replay");
+        assertEquals(walletId.toString(), replay.getString("walletId"));
+        assertEquals(2, replay.getInt("eventCount"));
+        assertFalse(replay.getBoolean("pointInTime"));
+
+        List<RecordedEvent> encodes = events.stream()
+                .filter(event -> named(event, "com.wallet.EventSerialization"))
+                .filter(event -> "encode".equals(event.getString("operation")))
+                .toList();
+        assertEquals(List.of("WALLET_CREATED", "MONEY_DEPOSITED"),
+                encodes.stream().map(event -> event.getString("eventType")).toList());
+        assertTrue(encodes.stream().allMatch(event -> event.getLong("bytes") > 0));
+
+        List<RecordedEvent> appends = events.stream().filter(event -> named(event, "com.wallet.EventAppend")).toList();
+        assertEquals(2, appends.size());
+        assertTrue(appends.stream().allMatch(event -> event.getInt("eventCount") == 1 && event.getLong("bytes") > 0));
+
+        assertTrue(events.stream()
+                .filter(event -> named(event, "com.wallet.ProjectionWrite"))
+                .anyMatch(event -> "wallet_projections".equals(event.getString("projection"))
+                        && walletId.toString().equals(event.getString("walletId"))));
+
+        List<RecordedEvent> commits = events.stream().filter(event -> named(event, "com.wallet.Commit")).toList();
+        assertEquals(2, commits.size());
+        assertTrue(commits.stream().allMatch(event -> event.getBoolean("committed") && event.getInt("eventCount") == 1));
+    }
+
+    @Test
+    void testNothingIsRecordedWithoutTheProfile() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+            recording.start();
+            UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+            walletRepository.findById(walletId);
+            recording.stop();
+            Path file = Files.createTempFile("wallet", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.delete(file);
+            }
+        }
+
+        assertTrue(events.stream().noneMatch(event -> EVENTS.contains(event.getEventType().getName())));
+    }
+
+    @Test
+    void testBundledProfileEnablesEveryEvent() throws Exception {
+        Map<String, String> settings;
+        try (Reader reader = new InputStreamReader(
+                new ClassPathResource("jfr/wallet.jfc").getInputStream(), StandardCharsets.UTF_8)) {
+            settings = Configuration.create(reader).getSettings();
+        }
+
+        EVENTS.forEach(name -> assertEquals("true", settings.get(name + "#enabled"), name));
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream().filter(event -> named(event, name)).toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+
+    private static boolean named(RecordedEvent event, String name) {
+        return event.getEventType().getName().equals(name);
+    }
+}
@@ -0,0 +1,89 @@
+package com.wallet.service.infrastructure.partitioning;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.StreamUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs db/postgres/events-partitioned.sql and the maintainer against a real PostgreSQL.
+ * Skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class EventPartitionMaintainerPostgresTest {
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("drop table if exists events, event_keys cascade");
+        // Sent as one simple query, so the driver keeps the function body in one piece
+        jdbcTemplate.execute(StreamUtils.copyToString(
+                new ClassPathResource("db/postgres/events-partitioned.sql").getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testMovesEventsOutOfTheDefaultPartition() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        OffsetDateTime historic = OffsetDateTime.now(ZoneOffset.UTC).minusYears(2);
+        UUID walletId = UUID.randomUUID();
+        insertEvent(walletId, 1, historic);
+        insertEvent(walletId, 2, OffsetDateTime.now(ZoneOffset.UTC));
+
+        EventPartitionMaintainer maintainer = new EventPartitionMaintainer(dataSource, 1);
+
+        String partition = EventPartitionMaintainer.partitionName(current);
+        assertEquals(1, count(partition));
+        assertEquals(1, count(EventPartitionMaintainer.partitionName(YearMonth.from(historic))),
+                "older history gets its own partition too");
+        assertEquals(0, count("events_default"));
+        assertEquals(0, count(EventPartitionMaintainer.partitionName(current.plusMonths(1))));
+        assertEquals(0, maintainer.createPartitions());
+
+        insertEvent(walletId, 3, OffsetDateTime.now(ZoneOffset.UTC));
+        assertEquals(2, count(partition));
+    }
+
+    @Test
+    void testWalletVersionStaysUniqueAcrossPartitions() {
+        new EventPartitionMaintainer(dataSource, 0);
+        UUID walletId = UUID.randomUUID();
+        insertEvent(walletId, 1, OffsetDateTime.now(ZoneOffset.UTC));
+
+        assertThrows(DuplicateKeyException.class,
+                () -> insertEvent(walletId, 1, OffsetDateTime.now(ZoneOffset.UTC).minusYears(1)));
+        assertEquals(1, count("events"));
+    }
+
+    private void insertEvent(UUID walletId, int version, OffsetDateTime occurredAt) {
+        jdbcTemplate.update("""
+                insert into events (id, aggregate_id, aggregate_type, event_type, version, amount_minor,
+                                    balance_after_minor, event_data, occurred_at, created_at)
+                values (?, ?, 'Wallet', 'MONEY_DEPOSITED', ?, 100, ?, '{}', ?, now())
+                """, UUID.randomUUID(), walletId, version, 100L * version, occurredAt);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+}
@@ -0,0 +1,43 @@
+package com.wallet.service.infrastructure.partitioning;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventPartitionMaintainerTest {
+
+    @Test
+    void testCreatesCurrentAndUpcomingMonthsThatAreMissing() {
+        List<YearMonth> missing = EventPartitionMaintainer.missingPartitions(
+                YearMonth.of(2026, 11), 3, List.of(), Set.of("events_default", "events_2026_11", "events_2027_01"));
+
+        assertEquals(List.of(YearMonth.of(2026, 12), YearMonth.of(2027, 2)), missing);
+    }
+
+    @Test
+    void testCreatesPastMonthsHeldByTheDefaultPartitionInOrder() {
+        List<YearMonth> missing = EventPartitionMaintainer.missingPartitions(
+                YearMonth.of(2026, 11), 0, List.of(YearMonth.of(2026, 11), YearMonth.of(2024, 3), YearMonth.of(2023, 7)),
+                Set.of("events_default"));
+
+        assertEquals(List.of(YearMonth.of(2023, 7), YearMonth.of(2024, 3), YearMonth.of(2026, 11)), missing);
+    }
+
+    @Test
+    void testNothingMissingOnceCreated() {
+        Set<String> existing = Set.of("events_2026_11", "events_2026_12");
+
+        assertTrue(EventPartitionMaintainer.missingPartitions(YearMonth.of(2026, 11), 1, List.of(), existing).isEmpty());
+    }
+
+    @Test
+    void testPartitionBoundsCoverTheMonthInUtc() {
+        assertEquals("create table if not exists events_2026_12 partition of events"
+                        + " for values from ('2026-12-01 00:00:00+00') to ('2027-01-01 00:00:00+00')",
+                EventPartitionMaintainer.createPartitionSql(YearMonth.of(2026, 12)));
+    }
+}
@@ -0,0 +1,200 @@
+package com.wallet.service.infrastructure.projection;
+
+import com.wallet.service.domain.event.DomainEvent;
+import com.wallet.service.domain.event.MoneyDepositedEvent;
+import com.wallet.service.domain.event.MoneyPaidOutEvent;
+import com.wallet.service.domain.event.MoneyTransferredEvent;
+import com.wallet.service.domain.event.MoneyWithdrawnEvent;
+import com.wallet.service.domain.event.WalletCreatedEvent;
+import com.wallet.service.domain.valueobject.Money;
+import com.wallet.service.infrastructure.persistence.WalletDailyRollup;
+import com.wallet.service.infrastructure.persistence.WalletDailyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "wallet.audit.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:turnover-test;DB_CLOSE_DELAY=-1"
+})
+class DailyTurnoverProjectorTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    @Autowired
+    private DailyTurnoverProjector projector;
+    @Autowired
+    private WalletDailyRollupRepository rollupRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testSumsEachKindOfTurnoverPerDay() {
+        UUID walletId = UUID.randomUUID();
+        UUID otherWalletId = UUID.randomUUID();
+
+        projector.project(List.of(
+                created(walletId, 1, at(DAY, 8)),
+                deposited(walletId, "100.00", "100.00", 2, at(DAY, 9)),
+                withdrawn(walletId, "30.00", "70.00", 3, at(DAY, 10)),
+                transferred(walletId, MoneyTransferredEvent.TransferType.SENT, "20.00", "50.00", 4, at(DAY, 11)),
+                transferred(walletId, MoneyTransferredEvent.TransferType.RECEIVED, "5.00", "55.00", 5, at(DAY, 12)),
+                paidOut(walletId, "15.00", "40.00", 6, at(DAY, 13)),
+                deposited(walletId, "1.00", "41.00", 7, at(DAY.plusDays(1), 9)),
+                deposited(otherWalletId, "9.00", "9.00", 1, at(DAY, 9))));
+
+        WalletDailyRollup day = rollup(walletId, DAY);
+        assertEquals(money("100.00"), day.getDeposits());
+        assertEquals(money("30.00"), day.getWithdrawals());
+        assertEquals(money("5.00"), day.getTransfersIn());
+        assertEquals(money("35.00"), day.getTransfersOut(), "payouts count as outgoing transfers");
+        assertEquals(money("40.00"), day.getClosingBalance());
+        assertEquals(6, day.getLastVersion());
+
+        assertEquals(money("41.00"), rollup(walletId, DAY.plusDays(1)).getClosingBalance());
+        assertEquals(money("9.00"), rollup(otherWalletId, DAY).getDeposits());
+    }
+
+    @Test
+    void testAddsToExistingRowsAndInsertsMissingOnes() {
+        UUID walletId = UUID.randomUUID();
+        projector.project(List.of(deposited(walletId, "10.00", "10.00", 1, at(DAY, 9))));
+        assertTrue(rollupRepository.findById(new WalletDailyRollup.Key(walletId, DAY)).isPresent());
+
+        projector.project(List.of(
+                deposited(walletId, "2.50", "12.50", 2, at(DAY, 10)),
+                deposited(walletId, "1.00", "13.50", 3, at(DAY.plusDays(1), 10))));
+
+        assertEquals(money("12.50"), rollup(walletId, DAY).getDeposits());
+        assertEquals(money("12.50"), rollup(walletId, DAY).getClosingBalance());
+        assertEquals(money("1.00"), rollup(walletId, DAY.plusDays(1)).getDeposits());
+    }
+
+    @Test
+    void testOlderEventsDoNotOverwriteTheClosingBalance() {
+        UUID walletId = UUID.randomUUID();
+        projector.project(List.of(deposited(walletId, "5.00", "25.00", 4, at(DAY, 12))));
+
+        // Projected late, e.g. by an import: its amount counts, its balance is already stale
+        projector.project(List.of(
+                deposited(walletId, "20.00", "20.00", 3, at(DAY, 11)),
+                withdrawn(walletId, "1.00", "19.00", 2, at(DAY, 10))));
+
+        WalletDailyRollup day = rollup(walletId, DAY);
+        assertEquals(money("25.00"), day.getDeposits());
+        assertEquals(money("1.00"), day.getWithdrawals());
+        assertEquals(money("25.00"), day.getClosingBalance());
+        assertEquals(4, day.getLastVersion());
+    }
+
+    @Test
+    void testUpdatesWithoutRowCountsStillInsertMissingDays() {
+        DailyTurnoverProjector noInfoProjector = new DailyTurnoverProjector(new NoInfoBatchDataSource(dataSource));
+        UUID walletId = UUID.randomUUID();
+        projector.project(List.of(deposited(walletId, "10.00", "10.00", 1, at(DAY, 9))));
+
+        noInfoProjector.project(List.of(
+                deposited(walletId, "2.00", "12.00", 2, at(DAY, 10)),
+                deposited(walletId, "3.00", "15.00", 3, at(DAY.plusDays(1), 10))));
+
+        assertEquals(money("12.00"), rollup(walletId, DAY).getDeposits());
+        assertEquals(money("3.00"), rollup(walletId, DAY.plusDays(1)).getDeposits());
+    }
+
+    private WalletDailyRollup rollup(UUID walletId, LocalDate day) {
+        return rollupRepository.findById(new WalletDailyRollup.Key(walletId, day)).orElseThrow();
+    }
+
+    private static Money money(String amount) {
+        return Money.of(new BigDecimal(amount));
+    }
+
+    private static Instant at(LocalDate day, int hour) {
+        return day.atTime(hour, 0).toInstant(ZoneOffset.UTC);
+    }
+
+    private static DomainEvent created(UUID walletId, int version, Instant occurredAt) {
+        return WalletCreatedEvent.builder().aggregateId(walletId).userId(UUID.randomUUID())
+                .initialBalance(Money.ZERO).version(version).occurredAt(occurredAt).build();
+    }
+
+    private static DomainEvent deposited(UUID walletId, String amount, String balanceAfter, int version,
+                                         Instant occurredAt) {
+        return MoneyDepositedEvent.builder().aggregateId(walletId).amount(money(amount))
+                .balanceAfter(money(balanceAfter)).version(version).occurredAt(occurredAt).build();
+    }
+
+    private static DomainEvent withdrawn(UUID walletId, String amount, String balanceAfter, int version,
+                                         Instant occurredAt) {
+        return MoneyWithdrawnEvent.builder().aggregateId(walletId).amount(money(amount))
+                .balanceAfter(money(balanceAfter)).version(version).occurredAt(occurredAt).build();
+    }
+
+    private static DomainEvent transferred(UUID walletId, MoneyTransferredEvent.TransferType type, String amount,
+                                           String balanceAfter, int version, Instant occurredAt) {
+        return MoneyTransferredEvent.builder().aggregateId(walletId).transferType(type).amount(money(amount))
+                .balanceAfter(money(balanceAfter)).version(version).occurredAt(occurredAt).build();
+    }
+
+    private static DomainEvent paidOut(UUID walletId, String amount, String balanceAfter, int version,
+                                       Instant occurredAt) {
+        return MoneyPaidOutEvent.builder().aggregateId(walletId).amount(money(amount)).recipientCount(1)
+                .balanceAfter(money(balanceAfter)).version(version).occurredAt(occurredAt).build();
+    }
+
+    // Reports every batched update as SUCCESS_NO_INFO, as some drivers do
+    private static final class NoInfoBatchDataSource extends DelegatingDataSource {
+        NoInfoBatchDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(method, connection, args);
+                if (result instanceof PreparedStatement statement && ((String) args[0]).strip().startsWith("update")) {
+                    return proxy(PreparedStatement.class, (p, m, a) -> {
+                        Object counts = invoke(m, statement, a);
+                        if (m.getName().equals("executeBatch")) {
+                            Arrays.fill((int[]) counts, Statement.SUCCESS_NO_INFO);
+                        }
+                        return counts;
+                    });
+                }
+                return result;
+            });
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+    }
+}
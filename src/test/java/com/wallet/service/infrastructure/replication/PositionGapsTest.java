@@ -0,0 +1,38 @@
+package com.wallet.service.infrastructure.replication;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionGapsTest {
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void testFillSplitsGap() {
+        PositionGaps gaps = new PositionGaps();
+        gaps.add(10, 14, T0);
+
+        gaps.fill(12);
+        gaps.fill(10);
+        gaps.fill(99);
+
+        assertEquals(List.of(new PositionGaps.Gap(11, 11, T0), new PositionGaps.Gap(13, 14, T0)), gaps.open(10));
+        assertEquals(3, gaps.positions());
+    }
+
+    @Test
+    void testExpiresOnlyGapsSeenBeforeCutoff() {
+        PositionGaps gaps = new PositionGaps();
+        gaps.add(3, 3, T0);
+        gaps.add(7, 8, T0.plusSeconds(60));
+        gaps.add(6, 5, T0);
+
+        List<PositionGaps.Gap> expired = gaps.expire(T0.plusSeconds(30));
+
+        assertEquals(List.of(new PositionGaps.Gap(3, 3, T0)), expired);
+        assertEquals(List.of(new PositionGaps.Gap(7, 8, T0.plusSeconds(60))), gaps.open(10));
+    }
+}
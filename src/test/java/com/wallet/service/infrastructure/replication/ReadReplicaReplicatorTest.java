@@ -0,0 +1,168 @@
+package com.wallet.service.infrastructure.replication;
+
+import com.wallet.service.application.command.CreateWalletCommand;
+import com.wallet.service.application.command.DepositCommand;
+import com.wallet.service.application.command.TransferCommand;
+import com.wallet.service.application.command.WithdrawCommand;
+import com.wallet.service.application.handler.TransactionQueryHandler;
+import com.wallet.service.application.handler.WalletCommandHandler;
+import com.wallet.service.application.handler.WalletQueryHandler;
+import com.wallet.service.application.query.DailyTurnoverDto;
+import com.wallet.service.application.query.WalletDto;
+import com.wallet.service.domain.event.WalletCreatedEvent;
+import com.wallet.service.domain.valueobject.Money;
+import com.wallet.service.infrastructure.eventstore.EventCodec;
+import com.wallet.service.infrastructure.persistence.EventEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against two H2 databases: commands write to one, read-only queries read from the
+ * other, which is fed from the event log by the replicator.
+ */
+@SpringBootTest(properties = {
+        "wallet.audit.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:replica-test-write;DB_CLOSE_DELAY=-1",
+        "wallet.datasource.read.url=jdbc:h2:mem:replica-test-read;DB_CLOSE_DELAY=-1",
+        "wallet.datasource.read.hikari.maximum-pool-size=2",
+        "wallet.datasource.read.replication.interval=1h"
+})
+class ReadReplicaReplicatorTest {
+    @Autowired
+    private WalletCommandHandler commandHandler;
+    @Autowired
+    private WalletQueryHandler queryHandler;
+    @Autowired
+    private TransactionQueryHandler transactionQueryHandler;
+    @Autowired
+    private ReadReplicaReplicator replicator;
+    @Autowired
+    private EventCodec eventCodec;
+    @Autowired
+    @Qualifier("readDataSource")
+    private DataSource readDataSource;
+    @Autowired
+    @Qualifier("writeDataSource")
+    private DataSource writeDataSource;
+
+    @Test
+    void testQueriesReadReplicatedState() {
+        UUID userId = UUID.randomUUID();
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(userId));
+        UUID otherWalletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+        commandHandler.handle(new DepositCommand(walletId, new BigDecimal("100.00")));
+        commandHandler.handle(new WithdrawCommand(walletId, new BigDecimal("25.00")));
+        commandHandler.handle(new TransferCommand(walletId, otherWalletId, new BigDecimal("10.00")));
+
+        assertThrows(IllegalArgumentException.class, () -> queryHandler.getWallet(walletId),
+                "queries must not see the write database");
+
+        replicator.replicate();
+
+        WalletDto wallet = queryHandler.getWallet(walletId);
+        assertEquals(new BigDecimal("65.00"), wallet.getBalance());
+        assertEquals(4, wallet.getVersion());
+        assertEquals(walletId, queryHandler.getWalletByUserId(userId).getId());
+        assertEquals(new BigDecimal("10.00"), queryHandler.getWallet(otherWalletId).getBalance());
+        assertEquals(new BigDecimal("65.00"), queryHandler.getWalletAtTime(walletId, Instant.now()).getBalance());
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<DailyTurnoverDto> turnover = queryHandler.getDailyTurnover(walletId, today.minusDays(1), today.plusDays(1));
+        assertEquals(1, turnover.size());
+        assertEquals(new BigDecimal("100.00"), turnover.get(0).getDeposits());
+        assertEquals(new BigDecimal("65.00"), turnover.get(0).getClosingBalance());
+
+        // Later events advance the replicated projection from where the cursor stopped
+        commandHandler.handle(new DepositCommand(walletId, new BigDecimal("5.00")));
+        assertEquals(1, replicator.replicate());
+        assertEquals(new BigDecimal("70.00"), queryHandler.getWallet(walletId).getBalance());
+        assertEquals(0, replicator.replicate());
+
+        String transactionId = new JdbcTemplate(readDataSource).queryForObject(
+                "select transaction_id from events where aggregate_id = ? and event_type = 'MONEY_TRANSFERRED_SENT'",
+                String.class, walletId);
+        assertEquals(2, transactionQueryHandler.getTransaction(transactionId).getLegs().size());
+    }
+
+    @Test
+    void testCommandsProceedWhileReadPoolIsExhausted() throws Exception {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2; i++) {
+                held.add(readDataSource.getConnection());
+            }
+            commandHandler.handle(new DepositCommand(walletId, new BigDecimal("1.00")));
+            commandHandler.handle(new WithdrawCommand(walletId, new BigDecimal("0.50")));
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+
+        replicator.replicate();
+        assertEquals(new BigDecimal("0.50"), queryHandler.getWallet(walletId).getBalance());
+    }
+
+    @Test
+    void testCopiesEventsCommittedBehindTheCursor() throws Exception {
+        replicator.replicate();
+        UUID lateWalletId = UUID.randomUUID();
+        UUID earlyWalletId;
+
+        try (Connection connection = writeDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            // Takes a position, then stays open while a later command commits
+            EventEntity created = eventCodec.encode(new WalletCreatedEvent(lateWalletId, UUID.randomUUID(),
+                    Money.ofMinor(700), Instant.now(), 1), "Wallet");
+            try (PreparedStatement insert = connection.prepareStatement("""
+                    insert into events (id, aggregate_id, aggregate_type, event_type, version, user_id,
+                                        balance_after_minor, event_data, occurred_at, created_at)
+                    values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """)) {
+                insert.setObject(1, UUID.randomUUID());
+                insert.setObject(2, lateWalletId);
+                insert.setString(3, created.getAggregateType());
+                insert.setString(4, created.getEventType());
+                insert.setInt(5, created.getVersion());
+                insert.setObject(6, created.getUserId());
+                insert.setLong(7, 700);
+                insert.setString(8, created.getEventData());
+                insert.setObject(9, created.getOccurredAt().atOffset(ZoneOffset.UTC));
+                insert.setObject(10, created.getCreatedAt().atOffset(ZoneOffset.UTC));
+                insert.executeUpdate();
+            }
+
+            earlyWalletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+            assertEquals(1, replicator.replicate());
+            assertEquals(earlyWalletId, queryHandler.getWallet(earlyWalletId).getId());
+            assertEquals(1, replicator.getGapPositions());
+
+            connection.commit();
+        }
+
+        assertEquals(1, replicator.replicate(), "the late commit is copied from behind the cursor");
+        WalletDto late = queryHandler.getWallet(lateWalletId);
+        assertEquals(new BigDecimal("7.00"), late.getBalance());
+        assertEquals(1, late.getVersion());
+        assertEquals(0, replicator.getGapPositions());
+        assertEquals(0, replicator.replicate());
+    }
+}
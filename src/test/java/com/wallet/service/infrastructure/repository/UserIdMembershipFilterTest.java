@@ -0,0 +1,48 @@
+package com.wallet.service.infrastructure.repository;
+
+import com.wallet.service.infrastructure.persistence.WalletProjectionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserIdMembershipFilterTest {
+
+    @Test
+    void testAnswersMaybeUntilLoaded() {
+        UserIdMembershipFilter filter = new UserIdMembershipFilter(mock(WalletProjectionRepository.class), 1000, 0.01);
+
+        assertTrue(filter.mightContain(UUID.randomUUID()));
+    }
+
+    @Test
+    void testHasNoFalseNegativesAndFewFalsePositives() {
+        UUID existing = UUID.randomUUID();
+        WalletProjectionRepository repository = mock(WalletProjectionRepository.class);
+        when(repository.streamAllUserIds()).thenReturn(Stream.of(existing));
+        UserIdMembershipFilter filter = new UserIdMembershipFilter(repository, 10_000, 0.01);
+        filter.load();
+
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID userId = UUID.randomUUID();
+            filter.add(userId);
+            added.add(userId);
+        }
+
+        assertTrue(filter.mightContain(existing));
+        assertTrue(added.stream().allMatch(filter::mightContain));
+
+        long falsePositives = Stream.generate(UUID::randomUUID)
+                .limit(10_000)
+                .filter(filter::mightContain)
+                .count();
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,125 @@
+package com.wallet.service.infrastructure.repository;
+
+import com.wallet.service.domain.aggregate.Wallet;
+import com.wallet.service.domain.event.DomainEvent;
+import com.wallet.service.domain.event.MoneyDepositedEvent;
+import com.wallet.service.domain.event.MoneyPaidOutEvent;
+import com.wallet.service.domain.event.MoneyTransferredEvent;
+import com.wallet.service.domain.event.MoneyWithdrawnEvent;
+import com.wallet.service.domain.event.WalletCreatedEvent;
+import com.wallet.service.domain.valueobject.Money;
+import com.wallet.service.infrastructure.eventstore.EventStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replay from the typed event columns must build the same wallet as applying the
+ * decoded JSON payloads, for every event type.
+ */
+@SpringBootTest(properties = "wallet.audit.enabled=false")
+class WalletReplayTest {
+    private static final Instant START = Instant.parse("2026-05-01T10:00:00Z");
+
+    @Autowired
+    private EventStore eventStore;
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Test
+    void testWalletCreated() {
+        UUID walletId = UUID.randomUUID();
+        assertSameReplay(walletId, List.of());
+    }
+
+    @Test
+    void testMoneyDeposited() {
+        UUID walletId = UUID.randomUUID();
+        assertSameReplay(walletId, List.of(MoneyDepositedEvent.builder()
+                .aggregateId(walletId).amount(money("10.00")).balanceAfter(money("15.00"))
+                .transactionId(UUID.randomUUID().toString()).version(2).occurredAt(START.plusSeconds(60)).build()));
+    }
+
+    @Test
+    void testMoneyWithdrawn() {
+        UUID walletId = UUID.randomUUID();
+        assertSameReplay(walletId, List.of(MoneyWithdrawnEvent.builder()
+                .aggregateId(walletId).amount(money("2.25")).balanceAfter(money("2.75"))
+                .transactionId(UUID.randomUUID().toString()).version(2).occurredAt(START.plusSeconds(60)).build()));
+    }
+
+    @Test
+    void testMoneyTransferredSent() {
+        UUID walletId = UUID.randomUUID();
+        assertSameReplay(walletId, List.of(transfer(walletId, MoneyTransferredEvent.TransferType.SENT, "4.00", "1.00")));
+    }
+
+    @Test
+    void testMoneyTransferredReceived() {
+        UUID walletId = UUID.randomUUID();
+        assertSameReplay(walletId, List.of(transfer(walletId, MoneyTransferredEvent.TransferType.RECEIVED, "4.00", "9.00")));
+    }
+
+    @Test
+    void testMoneyPaidOut() {
+        UUID walletId = UUID.randomUUID();
+        assertSameReplay(walletId, List.of(MoneyPaidOutEvent.builder()
+                .aggregateId(walletId).amount(money("3.50")).recipientCount(2).balanceAfter(money("1.50"))
+                .transactionId(UUID.randomUUID().toString()).version(2).occurredAt(START.plusSeconds(60)).build()));
+    }
+
+    // Saves a creation with a non-zero opening balance followed by the given events
+    private void assertSameReplay(UUID walletId, List<DomainEvent> after) {
+        List<DomainEvent> history = new ArrayList<>();
+        history.add(WalletCreatedEvent.builder()
+                .aggregateId(walletId).userId(UUID.randomUUID()).initialBalance(money("5.00"))
+                .version(1).occurredAt(START).build());
+        history.addAll(after);
+        eventStore.save(history, "Wallet");
+
+        assertSameWallet(fromPayloads(eventStore.getEvents(walletId)), walletRepository.findById(walletId).orElseThrow());
+        Instant beforeLast = history.get(history.size() - 1).getOccurredAt().minus(1, ChronoUnit.SECONDS);
+        if (!after.isEmpty()) {
+            assertSameWallet(fromPayloads(eventStore.getEventsUntil(walletId, beforeLast)),
+                    walletRepository.findByIdAtTime(walletId, beforeLast).orElseThrow());
+        }
+    }
+
+    private static Wallet fromPayloads(List<DomainEvent> events) {
+        Wallet wallet = new Wallet();
+        events.forEach(wallet::apply);
+        return wallet;
+    }
+
+    private static void assertSameWallet(Wallet expected, Wallet actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getUserId(), actual.getUserId());
+        assertEquals(expected.getBalance(), actual.getBalance());
+        assertEquals(expected.getVersion(), actual.getVersion());
+    }
+
+    private static MoneyTransferredEvent transfer(UUID walletId, MoneyTransferredEvent.TransferType type,
+                                                  String amount, String balanceAfter) {
+        UUID otherWalletId = UUID.randomUUID();
+        boolean sent = type == MoneyTransferredEvent.TransferType.SENT;
+        return MoneyTransferredEvent.builder()
+                .aggregateId(walletId)
+                .fromWalletId(sent ? walletId : otherWalletId)
+                .toWalletId(sent ? otherWalletId : walletId)
+                .amount(money(amount)).balanceAfter(money(balanceAfter)).transferType(type)
+                .transactionId(UUID.randomUUID().toString()).version(2).occurredAt(START.plusSeconds(60)).build();
+    }
+
+    private static Money money(String amount) {
+        return Money.of(new BigDecimal(amount));
+    }
+}
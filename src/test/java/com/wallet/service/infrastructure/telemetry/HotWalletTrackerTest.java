@@ -0,0 +1,94 @@
+package com.wallet.service.infrastructure.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotWalletTrackerTest {
+
+    @Test
+    void testSketchNeverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            sketch.add(id, i % 7 + 1);
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertTrue(sketch.estimate(ids.get(i)) >= i % 7 + 1);
+        }
+    }
+
+    @Test
+    void testSketchHalves() {
+        CountMinSketch sketch = new CountMinSketch(1024, 4);
+        UUID id = UUID.randomUUID();
+        assertEquals(10, sketch.add(id, 10));
+
+        sketch.halve();
+
+        assertEquals(5, sketch.estimate(id));
+    }
+
+    @Test
+    void testRejectsWidthThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(1000, 4));
+    }
+
+    @Test
+    void testHotWalletsSurfaceAmongNoise() {
+        HotWalletTracker tracker = new HotWalletTracker(true, 3, 1024, 4, Duration.ofSeconds(60));
+        UUID hot = UUID.randomUUID();
+        UUID contended = UUID.randomUUID();
+        for (int i = 0; i < 5000; i++) {
+            tracker.recordRequest(UUID.randomUUID());
+            if (i % 10 == 0) {
+                tracker.recordRequest(hot);
+                tracker.recordRequest(contended);
+            }
+            if (i % 50 == 0) {
+                tracker.recordConflict(contended);
+                tracker.recordReplay(contended, 40);
+            }
+        }
+
+        HotWalletReport report = tracker.getReport();
+
+        assertEquals(3, report.byRequests().size());
+        assertTrue(report.byRequests().stream().limit(2).map(HotWallet::walletId).toList().containsAll(List.of(hot, contended)));
+        HotWallet topConflict = report.byConflicts().get(0);
+        assertEquals(contended, topConflict.walletId());
+        assertTrue(topConflict.conflicts() >= 100);
+        assertTrue(topConflict.conflictRatio() > 0 && topConflict.conflictRatio() <= 1);
+        assertEquals(contended, report.byReplayedEvents().get(0).walletId());
+    }
+
+    @Test
+    void testDecayDropsWalletsThatWentQuiet() {
+        HotWalletTracker tracker = new HotWalletTracker(true, 5, 1024, 4, Duration.ofSeconds(60));
+        UUID walletId = UUID.randomUUID();
+        tracker.recordConflict(walletId);
+        tracker.recordConflict(walletId);
+
+        tracker.decay();
+        assertEquals(List.of(walletId), tracker.getReport().byConflicts().stream().map(HotWallet::walletId).toList());
+
+        tracker.decay();
+        assertTrue(tracker.getReport().byConflicts().isEmpty());
+    }
+
+    @Test
+    void testDisabledTrackerRecordsNothing() {
+        HotWalletTracker tracker = new HotWalletTracker(false, 5, 1024, 4, Duration.ofSeconds(60));
+        tracker.recordRequest(UUID.randomUUID());
+
+        assertTrue(tracker.getReport().byRequests().isEmpty());
+    }
+}
@@ -0,0 +1,150 @@
+package com.wallet.service.presentation.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.infrastructure.jdbc.SqlRoundTrips;
+import com.wallet.service.presentation.filter.ReadOnly;
+import com.wallet.service.presentation.interceptor.QueryBudget;
+import com.wallet.service.presentation.interceptor.SqlBudgetInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "wallet.audit.enabled=false")
+@AutoConfigureMockMvc
+class TransactionControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testTransferHasBothLegs() throws Exception {
+        UUID fromWalletId = createWallet();
+        UUID toWalletId = createWallet();
+        deposit(fromWalletId, "100.00");
+        mockMvc.perform(post("/api/wallets/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "fromWalletId", fromWalletId, "toWalletId", toWalletId, "amount", "30.00"))))
+                .andExpect(status().isNoContent());
+        String transactionId = lastTransactionId(fromWalletId);
+
+        JsonNode transaction = getTransaction(transactionId);
+
+        assertEquals(transactionId, transaction.get("transactionId").asText());
+        JsonNode legs = transaction.get("legs");
+        assertEquals(2, legs.size());
+        JsonNode sent = leg(legs, fromWalletId);
+        assertEquals("MONEY_TRANSFERRED_SENT", sent.get("eventType").asText());
+        assertEquals(30.0, sent.get("amount").asDouble());
+        assertEquals(70.0, sent.get("balanceAfter").asDouble());
+        assertEquals(3, sent.get("version").asInt());
+        JsonNode received = leg(legs, toWalletId);
+        assertEquals("MONEY_TRANSFERRED_RECEIVED", received.get("eventType").asText());
+        assertEquals(30.0, received.get("balanceAfter").asDouble());
+        assertEquals(2, received.get("version").asInt());
+    }
+
+    @Test
+    void testDepositHasOneLeg() throws Exception {
+        UUID walletId = createWallet();
+        deposit(walletId, "12.50");
+
+        JsonNode legs = getTransaction(lastTransactionId(walletId)).get("legs");
+
+        assertEquals(1, legs.size());
+        assertEquals(walletId.toString(), legs.get(0).get("walletId").asText());
+        assertEquals("MONEY_DEPOSITED", legs.get(0).get("eventType").asText());
+        assertEquals(12.5, legs.get(0).get("amount").asDouble());
+    }
+
+    @Test
+    void testUnknownTransactionIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/transactions/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testIsAReadOnlyQueryWithinBudget() throws Exception {
+        UUID walletId = createWallet();
+        deposit(walletId, "1.00");
+        String transactionId = lastTransactionId(walletId);
+        double exceededBefore = exceeded();
+
+        MvcResult result = mockMvc.perform(get("/api/transactions/{id}", transactionId))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        HandlerMethod handler = (HandlerMethod) result.getHandler();
+        assertTrue(handler.hasMethodAnnotation(ReadOnly.class), "admitted as a query, served from the read pool");
+        assertNotNull(handler.getMethodAnnotation(QueryBudget.class));
+        SqlRoundTrips.Tally tally = (SqlRoundTrips.Tally) result.getRequest()
+                .getAttribute(SqlBudgetInterceptor.TALLY_ATTRIBUTE);
+        assertEquals(1, tally.statements(), "one index lookup");
+        assertEquals(exceededBefore, exceeded(), "sent " + tally + ", over its @QueryBudget");
+    }
+
+    private JsonNode getTransaction(String transactionId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/transactions/{id}", transactionId))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private String lastTransactionId(UUID walletId) throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/wallets/{id}/events", walletId)).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk()).andReturn();
+        JsonNode events = objectMapper.readTree(result.getResponse().getContentAsString()).get("events");
+        return events.get(events.size() - 1).get("transactionId").asText();
+    }
+
+    private static JsonNode leg(JsonNode legs, UUID walletId) {
+        for (JsonNode leg : legs) {
+            if (leg.get("walletId").asText().equals(walletId.toString())) {
+                return leg;
+            }
+        }
+        throw new AssertionError("no leg for wallet " + walletId);
+    }
+
+    private double exceeded() {
+        return meterRegistry.find("wallet.sql.budget.exceeded").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private void deposit(UUID walletId, String amount) throws Exception {
+        mockMvc.perform(post("/api/wallets/{id}/deposit", walletId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("amount", amount))))
+                .andExpect(status().isNoContent());
+    }
+
+    private UUID createWallet() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/wallets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("userId", UUID.randomUUID()))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return UUID.fromString(objectMapper.readTree(result.getResponse().getContentAsString()).get("walletId").asText());
+    }
+}
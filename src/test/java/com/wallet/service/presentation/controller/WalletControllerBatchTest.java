@@ -0,0 +1,124 @@
+package com.wallet.service.presentation.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.application.handler.WalletQueryHandler;
+import com.wallet.service.infrastructure.jdbc.SqlRoundTrips;
+import com.wallet.service.presentation.interceptor.SqlBudgetInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "wallet.audit.enabled=false")
+@AutoConfigureMockMvc
+class WalletControllerBatchTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testReportsFoundAndMissingWalletsInRequestOrder() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID walletId = createWallet(userId);
+        UUID missingWalletId = UUID.randomUUID();
+        UUID missingUserId = UUID.randomUUID();
+
+        MvcResult result = batch(Map.of(
+                "walletIds", List.of(missingWalletId, walletId),
+                "userIds", List.of(userId, missingUserId)));
+
+        List<JsonNode> lines = lines(result);
+        assertEquals(4, lines.size());
+        assertLine(lines.get(0), "WALLET_ID", missingWalletId, false);
+        assertLine(lines.get(1), "WALLET_ID", walletId, true);
+        assertEquals(userId.toString(), lines.get(1).get("wallet").get("userId").asText());
+        assertLine(lines.get(2), "USER_ID", userId, true);
+        assertEquals(walletId.toString(), lines.get(2).get("wallet").get("id").asText());
+        assertLine(lines.get(3), "USER_ID", missingUserId, false);
+        assertFalse(lines.get(3).has("wallet"));
+    }
+
+    @Test
+    void testQueriesOneChunkOfIdsAtATime() throws Exception {
+        UUID walletId = createWallet(UUID.randomUUID());
+        List<UUID> walletIds = new ArrayList<>();
+        for (int i = 0; i < 249; i++) {
+            walletIds.add(UUID.randomUUID());
+        }
+        walletIds.add(120, walletId);
+
+        MvcResult result = batch(Map.of("walletIds", walletIds));
+
+        List<JsonNode> lines = lines(result);
+        assertEquals(250, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertLine(lines.get(i), "WALLET_ID", walletIds.get(i), i == 120);
+        }
+        SqlRoundTrips.Tally tally = (SqlRoundTrips.Tally) result.getRequest()
+                .getAttribute(SqlBudgetInterceptor.TALLY_ATTRIBUTE);
+        assertEquals(3, tally.statements(), "250 ids are read in three IN chunks");
+    }
+
+    @Test
+    void testRejectsBatchesOverTheLimit() throws Exception {
+        int half = WalletQueryHandler.MAX_BATCH_SIZE / 2;
+        String body = objectMapper.writeValueAsString(Map.of(
+                "walletIds", Collections.nCopies(half + 1, UUID.randomUUID()),
+                "userIds", Collections.nCopies(half, UUID.randomUUID())));
+
+        MvcResult result = mockMvc.perform(post("/api/wallets/batch")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        assertFalse(result.getRequest().isAsyncStarted(), "rejected before any line is written");
+    }
+
+    private MvcResult batch(Map<String, List<UUID>> request) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/wallets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private List<JsonNode> lines(MvcResult result) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static void assertLine(JsonNode line, String lookup, UUID key, boolean found) {
+        assertEquals(lookup, line.get("lookup").asText());
+        assertEquals(key.toString(), line.get("key").asText());
+        assertEquals(found, line.get("found").asBoolean());
+    }
+
+    private UUID createWallet(UUID owner) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/wallets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("userId", owner))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return UUID.fromString(objectMapper.readTree(result.getResponse().getContentAsString()).get("walletId").asText());
+    }
+}
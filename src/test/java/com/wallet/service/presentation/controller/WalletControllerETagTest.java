@@ -0,0 +1,99 @@
+package com.wallet.service.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "wallet.audit.enabled=false")
+@AutoConfigureMockMvc
+class WalletControllerETagTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID userId;
+    private UUID walletId;
+    private String eTag;
+
+    @BeforeEach
+    void createWallet() throws Exception {
+        userId = UUID.randomUUID();
+        MvcResult result = mockMvc.perform(post("/api/wallets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("userId", userId))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        walletId = UUID.fromString(objectMapper.readTree(result.getResponse().getContentAsString()).get("walletId").asText());
+        eTag = mockMvc.perform(get("/api/wallets/{id}", walletId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void testMatchingTagIsNotModified() throws Exception {
+        assertEquals("\"" + walletId + "-1\"", eTag);
+
+        for (String path : new String[]{"/api/wallets/" + walletId, "/api/wallets/user/" + userId}) {
+            mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                    .andExpect(content().string(""));
+        }
+    }
+
+    @Test
+    void testStaleTagGetsTheWalletAndANewTag() throws Exception {
+        mockMvc.perform(post("/api/wallets/{id}/deposit", walletId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":\"5.00\"}"))
+                .andExpect(status().isNoContent());
+
+        for (String path : new String[]{"/api/wallets/" + walletId, "/api/wallets/user/" + userId}) {
+            mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + walletId + "-2\""))
+                    .andExpect(jsonPath("$.version").value(2))
+                    .andExpect(jsonPath("$.balance").value(5.0));
+        }
+    }
+
+    @Test
+    void testWeakWildcardAndListTagsMatch() throws Exception {
+        for (String ifNoneMatch : new String[]{"W/" + eTag, "*", "\"other\", " + eTag, "\"other\",W/" + eTag}) {
+            mockMvc.perform(get("/api/wallets/{id}", walletId).header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                    .andExpect(status().isNotModified());
+        }
+        mockMvc.perform(get("/api/wallets/{id}", walletId).header(HttpHeaders.IF_NONE_MATCH, "\"other\", \"again\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testUnknownWalletIsNotFoundWithoutATag() throws Exception {
+        mockMvc.perform(get("/api/wallets/{id}", UUID.randomUUID()).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/wallets/user/{userId}", UUID.randomUUID()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+}
@@ -0,0 +1,97 @@
+package com.wallet.service.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.infrastructure.telemetry.HotWallet;
+import com.wallet.service.infrastructure.telemetry.HotWalletTracker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "wallet.audit.enabled=false",
+        "wallet.hotspots.top-k=1000",
+        "wallet.hotspots.half-life=1h"
+})
+@AutoConfigureMockMvc
+class WalletControllerHotWalletTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private HotWalletTracker hotWalletTracker;
+
+    @Test
+    void testEachQueryRequestCountsOnce() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID walletId = createWallet(userId);
+        long before = requests(walletId);
+
+        // Stale tag: the version probe misses and the full wallet is read
+        String eTag = mockMvc.perform(get("/api/wallets/{id}", walletId).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(before + 1, requests(walletId));
+
+        mockMvc.perform(get("/api/wallets/user/{userId}", userId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        assertEquals(before + 2, requests(walletId));
+
+        mockMvc.perform(get("/api/wallets/user/{userId}", userId))
+                .andExpect(status().isOk());
+        assertEquals(before + 3, requests(walletId));
+    }
+
+    @Test
+    void testLongPollCountsOnceWhateverItsWakeUps() throws Exception {
+        UUID walletId = createWallet(UUID.randomUUID());
+        long before = requests(walletId);
+
+        MvcResult pending = mockMvc.perform(get("/api/wallets/{id}/events", walletId)
+                        .param("afterVersion", "1")
+                        .param("wait", "10s"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(before + 1, requests(walletId));
+
+        // The deposit counts as a command request; re-reading the events for the waiting poll does not
+        mockMvc.perform(post("/api/wallets/{id}/deposit", walletId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":\"7.00\"}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk());
+        assertEquals(before + 2, requests(walletId));
+    }
+
+    private long requests(UUID walletId) {
+        return hotWalletTracker.getReport().byRequests().stream()
+                .filter(wallet -> wallet.walletId().equals(walletId))
+                .mapToLong(HotWallet::requests)
+                .findFirst()
+                .orElse(0);
+    }
+
+    private UUID createWallet(UUID owner) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/wallets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("userId", owner))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return UUID.fromString(objectMapper.readTree(result.getResponse().getContentAsString()).get("walletId").asText());
+    }
+}
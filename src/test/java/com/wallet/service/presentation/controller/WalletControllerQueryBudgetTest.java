@@ -0,0 +1,161 @@
+package com.wallet.service.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.infrastructure.jdbc.SqlRoundTrips;
+import com.wallet.service.presentation.interceptor.QueryBudget;
+import com.wallet.service.presentation.interceptor.SqlBudgetInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sends one request to every WalletController endpoint and fails when a handler sends
+ * more SQL than its {@link QueryBudget}. A change that adds a query to a hot path has to
+ * raise the budget in the same commit.
+ */
+@SpringBootTest(properties = "wallet.audit.enabled=false")
+@AutoConfigureMockMvc
+class WalletControllerQueryBudgetTest {
+    private static final Logger log = LoggerFactory.getLogger(WalletControllerQueryBudgetTest.class);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UUID userId;
+    private UUID walletId;
+    private UUID otherWalletId;
+
+    @BeforeEach
+    void createWallets() throws Exception {
+        userId = UUID.randomUUID();
+        walletId = createWallet(userId);
+        otherWalletId = createWallet(UUID.randomUUID());
+        deposit(walletId, "100.00");
+    }
+
+    @Test
+    void testEveryEndpointDeclaresABudget() {
+        for (Method method : WalletController.class.getDeclaredMethods()) {
+            if (AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)) {
+                assertNotNull(method.getAnnotation(QueryBudget.class), method.getName() + " has no @QueryBudget");
+            }
+        }
+    }
+
+    @Test
+    void testCommandsStayWithinBudget() throws Exception {
+        assertWithinBudget(post("/api/wallets"), Map.of("userId", UUID.randomUUID()), 201);
+        assertWithinBudget(post("/api/wallets/{id}/deposit", walletId), Map.of("amount", "10.00"), 204);
+        assertWithinBudget(post("/api/wallets/{id}/withdraw", walletId), Map.of("amount", "5.00"), 204);
+        assertWithinBudget(post("/api/wallets/transfer"),
+                Map.of("fromWalletId", walletId, "toWalletId", otherWalletId, "amount", "1.00"), 204);
+        assertWithinBudget(post("/api/wallets/{id}/payouts", walletId),
+                Map.of("payments", List.of(Map.of("toWalletId", otherWalletId, "amount", "2.00"))), 200);
+        List<Map<String, Object>> payments = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            payments.add(Map.of("toWalletId", createWallet(UUID.randomUUID()), "amount", "1.00"));
+        }
+        assertWithinBudget(post("/api/wallets/{id}/payouts", walletId), Map.of("payments", payments), 200);
+    }
+
+    @Test
+    void testQueriesStayWithinBudget() throws Exception {
+        String eTag = assertWithinBudget(get("/api/wallets/{id}", walletId), null, 200)
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        assertWithinBudget(get("/api/wallets/{id}", walletId).header(HttpHeaders.IF_NONE_MATCH, eTag), null, 304);
+        assertWithinBudget(get("/api/wallets/user/{userId}", userId), null, 200);
+        assertWithinBudget(get("/api/wallets/user/{userId}", userId).header(HttpHeaders.IF_NONE_MATCH, eTag), null, 304);
+        deposit(walletId, "1.00");
+        assertWithinBudget(get("/api/wallets/{id}", walletId).header(HttpHeaders.IF_NONE_MATCH, eTag), null, 200);
+        assertWithinBudget(get("/api/wallets/user/{userId}", userId).header(HttpHeaders.IF_NONE_MATCH, eTag), null, 200);
+        assertWithinBudget(post("/api/wallets/batch"),
+                Map.of("walletIds", List.of(walletId, otherWalletId), "userIds", List.of(userId)), 200);
+        assertWithinBudget(get("/api/wallets/{id}/history", walletId).param("timestamp", Instant.now().toString()),
+                null, 200);
+        assertWithinBudget(get("/api/wallets/{id}/turnover", walletId)
+                .param("from", LocalDate.now().minusDays(7).toString())
+                .param("to", LocalDate.now().toString()), null, 200);
+        assertWithinBudget(get("/api/wallets/{id}/events", walletId).param("afterVersion", "1"), null, 200);
+        assertWithinBudget(get("/api/wallets/{id}/events", walletId).param("afterVersion", "2"), null, 200);
+    }
+
+    private MvcResult assertWithinBudget(MockHttpServletRequestBuilder request, Object body, int expectedStatus)
+            throws Exception {
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        }
+        double exceededBefore = exceeded();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            // Streaming bodies send their SQL on the async executor
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        assertEquals(expectedStatus, result.getResponse().getStatus());
+
+        HandlerMethod handler = (HandlerMethod) result.getHandler();
+        SqlRoundTrips.Tally tally = (SqlRoundTrips.Tally) result.getRequest()
+                .getAttribute(SqlBudgetInterceptor.TALLY_ATTRIBUTE);
+        String name = handler.getMethod().getName()
+                + (result.getRequest().getHeader(HttpHeaders.IF_NONE_MATCH) != null ? " (If-None-Match)" : "");
+        log.info("{} -> {} sent {}", name, expectedStatus, tally);
+        assertNotNull(tally, name + " was not measured");
+        assertNotNull(handler.getMethodAnnotation(QueryBudget.class), name + " has no @QueryBudget");
+        // The interceptor's own verdict, so the test cannot drift from the production check
+        assertEquals(exceededBefore, exceeded(), name + " sent " + tally + ", over its @QueryBudget");
+        return result;
+    }
+
+    private double exceeded() {
+        return meterRegistry.find("wallet.sql.budget.exceeded").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private UUID createWallet(UUID owner) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/wallets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("userId", owner))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return UUID.fromString(objectMapper.readTree(result.getResponse().getContentAsString()).get("walletId").asText());
+    }
+
+    private void deposit(UUID wallet, String amount) throws Exception {
+        mockMvc.perform(post("/api/wallets/{id}/deposit", wallet)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("amount", amount))))
+                .andExpect(status().isNoContent());
+    }
+}
@@ -0,0 +1,147 @@
+package com.wallet.service.presentation.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.application.command.CreateWalletCommand;
+import com.wallet.service.application.command.DepositCommand;
+import com.wallet.service.application.command.WithdrawCommand;
+import com.wallet.service.application.handler.WalletCommandHandler;
+import com.wallet.service.application.sync.WalletEventFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"wallet.audit.enabled=false", "wallet.sync.recheck-interval=1h"})
+@AutoConfigureMockMvc
+class WalletEventSyncTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private WalletCommandHandler commandHandler;
+
+    @Test
+    void testReturnsEventsAfterVersionInPages() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(userId));
+        commandHandler.handle(new DepositCommand(walletId, new BigDecimal("50.00")));
+        commandHandler.handle(new WithdrawCommand(walletId, new BigDecimal("20.00")));
+
+        JsonNode first = fetch(walletId, 0, 2);
+        assertEquals(2, first.get("version").asInt());
+        assertTrue(first.get("hasMore").asBoolean());
+        assertEquals("WALLET_CREATED", first.get("events").get(0).get("eventType").asText());
+        assertEquals(userId.toString(), first.get("events").get(0).get("userId").asText());
+        assertFalse(first.get("events").get(0).has("transactionId"), "absent fields are left out");
+
+        JsonNode second = fetch(walletId, first.get("version").asInt(), 2);
+        assertEquals(3, second.get("version").asInt());
+        assertFalse(second.get("hasMore").asBoolean());
+        JsonNode withdrawal = second.get("events").get(0);
+        assertEquals("MONEY_WITHDRAWN", withdrawal.get("eventType").asText());
+        assertEquals(0, new BigDecimal("20.00").compareTo(withdrawal.get("amount").decimalValue()));
+        assertEquals(0, new BigDecimal("30.00").compareTo(withdrawal.get("balanceAfter").decimalValue()));
+
+        JsonNode upToDate = fetch(walletId, 3, 100);
+        assertEquals(3, upToDate.get("version").asInt());
+        assertTrue(upToDate.get("events").isEmpty());
+    }
+
+    @Test
+    void testLongPollIsAnsweredByTheNextCommit() throws Exception {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+
+        MvcResult pending = mockMvc.perform(get("/api/wallets/{id}/events", walletId)
+                        .param("afterVersion", "1")
+                        .param("wait", "10s"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        commandHandler.handle(new DepositCommand(walletId, new BigDecimal("7.00")));
+
+        MvcResult result = mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk()).andReturn();
+        JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertEquals(2, page.get("version").asInt());
+        assertEquals("MONEY_DEPOSITED", page.get("events").get(0).get("eventType").asText());
+    }
+
+    @Test
+    void testLongPollTimesOutWithAnEmptyPage() throws Exception {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+
+        MvcResult pending = mockMvc.perform(get("/api/wallets/{id}/events", walletId)
+                        .param("afterVersion", "1")
+                        .param("wait", "200ms"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk()).andReturn();
+        JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertEquals(1, page.get("version").asInt());
+        assertTrue(page.get("events").isEmpty());
+    }
+
+    @Test
+    void testBinaryEncoding() throws Exception {
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+        commandHandler.handle(new DepositCommand(walletId, new BigDecimal("12.34")));
+
+        MvcResult pending = mockMvc.perform(get("/api/wallets/{id}/events", walletId)
+                        .param("afterVersion", "1")
+                        .param("format", "BINARY"))
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        assertArrayEquals(WalletEventFeed.BINARY_MAGIC, in.readNBytes(4));
+        assertEquals(walletId, new UUID(in.readLong(), in.readLong()));
+        assertEquals(2, in.readInt());
+        assertFalse(in.readBoolean());
+        assertEquals(1, in.readInt());
+        assertEquals(2, in.readInt());
+        assertEquals("MONEY_DEPOSITED", in.readUTF());
+        assertEquals(2 | 4 | 8, in.readByte());
+        assertEquals(1234, in.readLong());
+        assertEquals(1234, in.readLong());
+        assertFalse(in.readUTF().isEmpty());
+        assertTrue(in.readLong() > 0);
+        in.readInt();
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    void testRejectsUnknownWalletsAndBadArguments() throws Exception {
+        mockMvc.perform(get("/api/wallets/{id}/events", UUID.randomUUID()).param("wait", "5s"))
+                .andExpect(status().isBadRequest());
+        UUID walletId = commandHandler.handle(new CreateWalletCommand(UUID.randomUUID()));
+        mockMvc.perform(get("/api/wallets/{id}/events", walletId).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/wallets/{id}/events", walletId).param("wait", "10m"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode fetch(UUID walletId, int afterVersion, int limit) throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/wallets/{id}/events", walletId)
+                        .param("afterVersion", String.valueOf(afterVersion))
+                        .param("limit", String.valueOf(limit)))
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk()).andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,119 @@
+package com.wallet.service.presentation.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.infrastructure.admission.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "wallet.audit.enabled=false")
+@AutoConfigureMockMvc
+class AdmissionControlFilterTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    @Qualifier("commandLimiter")
+    private AdaptiveConcurrencyLimiter commandLimiter;
+    @Autowired
+    @Qualifier("queryLimiter")
+    private AdaptiveConcurrencyLimiter queryLimiter;
+
+    @Test
+    void testReadOnlyPostIsAdmittedAsAQuery() throws Exception {
+        String batch = objectMapper.writeValueAsString(Map.of("walletIds", List.of(UUID.randomUUID())));
+        int held = exhaust(commandLimiter);
+        try {
+            MvcResult result = mockMvc.perform(post("/api/wallets/batch")
+                            .contentType(MediaType.APPLICATION_JSON).content(batch))
+                    .andReturn();
+            assertTrue(result.getRequest().isAsyncStarted(), "the batch lookup streams its response");
+            mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+            mockMvc.perform(post("/api/wallets/{id}/deposit", UUID.randomUUID())
+                            .contentType(MediaType.APPLICATION_JSON).content("{\"amount\":\"1.00\"}"))
+                    .andExpect(status().isTooManyRequests());
+        } finally {
+            release(commandLimiter, held);
+        }
+    }
+
+    @Test
+    void testStreamingQueryHoldsItsPermitUntilComplete() throws Exception {
+        int before = queryLimiter.getInFlight();
+        MvcResult result = mockMvc.perform(get("/api/reports/balances").param("asOf", Instant.now().toString()))
+                .andReturn();
+        assertTrue(result.getRequest().isAsyncStarted());
+        assertEquals(before + 1, queryLimiter.getInFlight(), "the report is still being written");
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertEquals(before, queryLimiter.getInFlight());
+    }
+
+    @Test
+    void testParkedLongPollsDoNotHoldPermits() throws Exception {
+        UUID walletId = createWallet();
+        int before = queryLimiter.getInFlight();
+        List<MvcResult> polls = new ArrayList<>();
+        for (int i = 0; i < queryLimiter.getLimit(); i++) {
+            polls.add(mockMvc.perform(get("/api/wallets/{id}/events", walletId)
+                            .param("afterVersion", "1")
+                            .param("wait", "10s"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn());
+        }
+        assertEquals(before, queryLimiter.getInFlight(), "parked polls gave their permits back");
+
+        mockMvc.perform(get("/api/wallets/{id}", walletId)).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/wallets/{id}/deposit", walletId)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"amount\":\"1.00\"}"))
+                .andExpect(status().isNoContent());
+        for (MvcResult poll : polls) {
+            mockMvc.perform(asyncDispatch(poll)).andExpect(status().isOk());
+        }
+        assertEquals(before, queryLimiter.getInFlight());
+    }
+
+    private UUID createWallet() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/wallets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("userId", UUID.randomUUID()))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return UUID.fromString(objectMapper.readTree(result.getResponse().getContentAsString()).get("walletId").asText());
+    }
+
+    private static int exhaust(AdaptiveConcurrencyLimiter limiter) {
+        int held = 0;
+        while (limiter.tryAcquire()) {
+            held++;
+        }
+        return held;
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter limiter, int held) {
+        for (int i = 0; i < held; i++) {
+            limiter.release(0, false);
+        }
+    }
+}
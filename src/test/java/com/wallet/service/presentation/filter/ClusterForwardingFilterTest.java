@@ -0,0 +1,127 @@
+package com.wallet.service.presentation.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.wallet.service.infrastructure.cluster.ClusterRouter;
+import com.wallet.service.infrastructure.cluster.StaticClusterMembership;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterForwardingFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger ownerCalls = new AtomicInteger();
+    private HttpServer owner;
+
+    @AfterEach
+    void tearDown() {
+        if (owner != null) {
+            owner.stop(0);
+        }
+    }
+
+    @Test
+    void testRelaysOwnerResponse() throws Exception {
+        String ownerUrl = startOwner(Duration.ZERO);
+        ClusterRouter router = router(ownerUrl);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(router).doFilter(deposit(remoteWallet(router)), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{\"owner\":true}", response.getContentAsString());
+        assertEquals("b", response.getHeader(ClusterForwardingFilter.FORWARDED_HEADER));
+        assertNull(chain.getRequest(), "command must not run locally");
+        assertEquals(1, ownerCalls.get());
+    }
+
+    @Test
+    void testHandlesLocallyWhenOwnerRefusesConnection() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        ClusterRouter router = router("http://localhost:" + closedPort);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter(router).doFilter(deposit(remoteWallet(router)), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest(), "unsent command should run locally");
+        assertEquals("{\"amount\":10}",
+                new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(1.0, meterRegistry.counter("wallet.cluster.forward.fallbacks").count());
+    }
+
+    @Test
+    void testTimeoutAnswersGatewayTimeoutWithoutRunningLocally() throws Exception {
+        String ownerUrl = startOwner(Duration.ofSeconds(2));
+        ClusterRouter router = router(ownerUrl);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(router).doFilter(deposit(remoteWallet(router)), response, chain);
+
+        assertEquals(504, response.getStatus());
+        assertNull(chain.getRequest(), "a command the owner may have applied must not run again");
+        assertEquals(1, ownerCalls.get());
+        assertEquals(1.0, meterRegistry.counter("wallet.cluster.forward.failures").count());
+    }
+
+    private String startOwner(Duration delay) throws IOException {
+        owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        owner.createContext("/", exchange -> {
+            ownerCalls.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"owner\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        owner.start();
+        return "http://localhost:" + owner.getAddress().getPort();
+    }
+
+    private ClusterRouter router(String ownerUrl) {
+        return new ClusterRouter(new StaticClusterMembership("a", "a=http://localhost:1,b=" + ownerUrl), 128);
+    }
+
+    private ClusterForwardingFilter filter(ClusterRouter router) {
+        return new ClusterForwardingFilter(router, new ObjectMapper().findAndRegisterModules(), meterRegistry, Duration.ofMillis(500));
+    }
+
+    private static UUID remoteWallet(ClusterRouter router) {
+        while (true) {
+            UUID walletId = UUID.randomUUID();
+            if (router.remoteOwnerOf(walletId).isPresent()) {
+                return walletId;
+            }
+        }
+    }
+
+    private static MockHttpServletRequest deposit(UUID walletId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/wallets/" + walletId + "/deposit");
+        request.setContentType("application/json");
+        request.setContent("{\"amount\":10}".getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,81 @@
+#!/bin/bash
+
+# Wallet Service Startup Benchmark
+# Reports time-to-first-request and resident memory for the available launch modes:
+#   jar     plain boot jar             (./gradlew bootJar)
+#   cds     AOT + AppCDS archive       (./gradlew -PfastStart cdsArchive)
+#   native  GraalVM native image       (./gradlew -PfastStart nativeCompile)
+#
+# Usage: ./startup-benchmark.sh [runs] [modes...]
+
+RUNS=${1:-3}
+shift
+MODES=${@:-jar cds native}
+PORT=${PORT:-18080}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+PROBE_URL="http://localhost:$PORT/api/wallets/user/00000000-0000-0000-0000-000000000000"
+
+BOOT_JAR=$(ls build/libs/wallet-service-*.jar 2>/dev/null | grep -v -- '-plain\|-jmh' | head -1)
+FAST_START_DIR=build/fast-start
+NATIVE_BINARY=build/native/nativeCompile/wallet-service
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the mode in the background of this shell, so PID can be waited for
+launch() {
+    case $1 in
+        jar)
+            $JAVA -jar "$BOOT_JAR" --server.port=$PORT > /dev/null 2>&1 &
+            ;;
+        cds)
+            # exec replaces the subshell, so $! is the JVM itself
+            (cd $FAST_START_DIR && exec $JAVA -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+                -jar wallet-service-*.jar --server.port=$PORT > /dev/null 2>&1) &
+            ;;
+        native)
+            $NATIVE_BINARY --server.port=$PORT > /dev/null 2>&1 &
+            ;;
+    esac
+    PID=$!
+}
+
+available() {
+    case $1 in
+        jar) [ -n "$BOOT_JAR" ] ;;
+        cds) [ -f $FAST_START_DIR/application.jsa ] ;;
+        native) [ -x $NATIVE_BINARY ] ;;
+        *) false ;;
+    esac
+}
+
+printf "%-8s %-4s %12s %10s\n" "MODE" "RUN" "FIRST_REQ_MS" "RSS_MB"
+for MODE in $MODES; do
+    if ! available $MODE; then
+        echo "Skipping $MODE: build output not found"
+        continue
+    fi
+
+    for RUN in $(seq 1 $RUNS); do
+        START=$(now_ms)
+        launch $MODE
+
+        # The probe hits the JPA-backed query path; any HTTP status means the app is serving
+        until [ "$(curl -s -o /dev/null -w '%{http_code}' $PROBE_URL)" != "000" ]; do
+            sleep 0.01
+        done
+        ELAPSED=$(( $(now_ms) - START ))
+
+        RSS_KB=$(grep VmRSS /proc/$PID/status | awk '{print $2}')
+
+        printf "%-8s %-4s %12s %10s\n" $MODE $RUN $ELAPSED $(( RSS_KB / 1024 ))
+
+        kill $PID 2> /dev/null
+        wait $PID 2> /dev/null
+        # The next run must not be answered by this one
+        while [ "$(curl -s -o /dev/null -w '%{http_code}' $PROBE_URL)" != "000" ]; do
+            sleep 0.01
+        done
+    done
+done